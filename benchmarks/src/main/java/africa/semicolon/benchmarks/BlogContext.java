@@ -0,0 +1,94 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.Main;
+import africa.semicolon.benchmarks.stubs.InMemoryRepositories;
+import africa.semicolon.dto.requests.CreatePostRequest;
+import africa.semicolon.dto.requests.UserLoginRequest;
+import africa.semicolon.dto.requests.UserRegisterRequest;
+import africa.semicolon.services.UserServices;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application, by default without the web tier, either against an embedded mongod
+ * ({@code embedded}) or against map-backed repositories ({@code stub}) so the two can be compared.
+ */
+public final class BlogContext {
+
+    public static final String STUB = "stub";
+    public static final String EMBEDDED = "embedded";
+
+    private static final String MONGO_AUTO_CONFIGURATION = String.join(",",
+            "org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration",
+            "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration",
+            "de.flapdoodle.embed.mongo.spring.autoconfigure.EmbeddedMongoAutoConfiguration");
+
+    private static final String CONTENT = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor "
+            .repeat(8);
+
+    private BlogContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String backend) {
+        return start(backend, "--spring.main.web-application-type=none");
+    }
+
+    public static ConfigurableApplicationContext start(String backend, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(extraArgs));
+        args.addAll(List.of(
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn",
+                "--blog.migrations.enabled=false",
+                "--de.flapdoodle.mongodb.embedded.version=7.0.4"));
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Main.class);
+        switch (backend) {
+            case STUB -> {
+                builder.sources(InMemoryRepositories.class);
+                args.add("--spring.autoconfigure.exclude=" + MONGO_AUTO_CONFIGURATION);
+                args.add("--blog.mongo.indexes.enabled=false");
+            }
+            case EMBEDDED -> {
+            }
+            default -> throw new IllegalArgumentException("Unknown backend " + backend);
+        }
+        return builder.run(args.toArray(String[]::new));
+    }
+
+    public static String register(UserServices userServices, String username) {
+        UserRegisterRequest registerRequest = new UserRegisterRequest();
+        registerRequest.setFirstName("Bench");
+        registerRequest.setLastName("Mark");
+        registerRequest.setUsername(username);
+        registerRequest.setPassword("password");
+        userServices.register(registerRequest).join();
+
+        UserLoginRequest loginRequest = new UserLoginRequest();
+        loginRequest.setUsername(username);
+        loginRequest.setPassword("password");
+        return userServices.login(loginRequest).join().getToken();
+    }
+
+    public static List<String> createPosts(UserServices userServices, String username, String token, int count) {
+        List<String> postIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            postIds.add(userServices.createPost(postRequest(username, token, i)).getPostId());
+        }
+        return postIds;
+    }
+
+    public static CreatePostRequest postRequest(String username, String token, int index) {
+        CreatePostRequest request = new CreatePostRequest();
+        request.setAuthor(username);
+        request.setToken(token);
+        request.setTitle("Post " + index);
+        request.setContent(CONTENT + index);
+        return request;
+    }
+}
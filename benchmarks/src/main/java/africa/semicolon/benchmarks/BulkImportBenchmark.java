@@ -0,0 +1,69 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.dto.requests.BulkImportRequest;
+import africa.semicolon.dto.requests.ImportPostRequest;
+import africa.semicolon.dto.responses.BulkImportResponse;
+import africa.semicolon.services.UserServices;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkImportBenchmark {
+
+    @Param({BlogContext.STUB, BlogContext.EMBEDDED})
+    String backend;
+
+    @Param({"100", "1000", "10000"})
+    int posts;
+
+    ConfigurableApplicationContext context;
+    UserServices userServices;
+    String username;
+    String token;
+    BulkImportRequest bulkImportRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BlogContext.start(backend);
+        userServices = context.getBean(UserServices.class);
+        username = "importer" + System.nanoTime();
+        token = BlogContext.register(userServices, username);
+
+        List<ImportPostRequest> importPosts = new ArrayList<>(posts);
+        for (int i = 0; i < posts; i++) {
+            ImportPostRequest importPost = new ImportPostRequest();
+            importPost.setTitle("Imported " + i);
+            importPost.setContent(BlogContext.postRequest(username, token, i).getContent());
+            importPosts.add(importPost);
+        }
+        bulkImportRequest = new BulkImportRequest();
+        bulkImportRequest.setAuthor(username);
+        bulkImportRequest.setToken(token);
+        bulkImportRequest.setPosts(importPosts);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BulkImportResponse bulkImport() {
+        return userServices.bulkImport(bulkImportRequest);
+    }
+
+    @Benchmark
+    public int createPostOneByOne() {
+        for (int i = 0; i < posts; i++) userServices.createPost(BlogContext.postRequest(username, token, i));
+        return posts;
+    }
+}
@@ -0,0 +1,183 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.benchmarks.stubs.InMemoryMongoRepository;
+import africa.semicolon.dto.requests.ViewPostRequest;
+import africa.semicolon.services.UserServices;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load test comparing the servlet stack on platform threads ({@code platform}), the
+ * virtual-thread execution mode ({@code virtual}) and the WebFlux stack ({@code reactive}). Each of {@code concurrency} clients loops over a read-heavy mix of {@code GET /all_posts}
+ * and {@code PATCH /view_post} for {@code duration}; latencies recorded after {@code warmup} are reported as
+ * throughput and percentiles per mode.
+ * <p>
+ * With {@code backend=stub}, {@code latency} adds a fixed delay to every repository call so a slow database
+ * can be simulated without a real one. The reactive mode has no stub repositories and needs
+ * {@code backend=embedded}. Arguments are {@code key=value} pairs, e.g.
+ * {@code backend=stub modes=platform,virtual concurrency=1000 latency=PT0.02S duration=PT30S}.
+ */
+public final class HttpLoadTest {
+
+    private static final String API = "/api/Blogspot";
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "backend", BlogContext.STUB,
+                "modes", "platform,virtual",
+                "concurrency", "500",
+                "duration", "PT20S",
+                "warmup", "PT5S",
+                "latency", "PT0.02S",
+                "posts", "100",
+                "viewRatio", "0.2"));
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            options.put(option[0], option[1]);
+        }
+
+        System.out.printf("%-9s %10s %8s %12s %9s %9s %9s%n", "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms");
+        for (String mode : options.get("modes").split(",")) {
+            Result result = run(options, mode);
+            System.out.printf("%-9s %10d %8d %12.1f %9.2f %9.2f %9.2f%n", mode, result.requests(), result.errors(),
+                    result.throughput(), result.percentile(0.50), result.percentile(0.99), result.percentile(0.999));
+        }
+    }
+
+    private static Result run(Map<String, String> options, String mode) throws Exception {
+        String backend = options.get("backend");
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        Duration duration = Duration.parse(options.get("duration"));
+        Duration warmup = Duration.parse(options.get("warmup"));
+        double viewRatio = Double.parseDouble(options.get("viewRatio"));
+
+        if ("reactive".equals(mode) && !BlogContext.EMBEDDED.equals(backend)) {
+            throw new IllegalArgumentException("reactive mode needs backend=embedded");
+        }
+        try (ConfigurableApplicationContext context = BlogContext.start(backend,
+                "--server.port=0",
+                "--spring.profiles.active=" + ("reactive".equals(mode) ? "reactive" : "default"),
+                "--spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                "--blog.rate-limit.enabled=false",
+                "--blog.views.dedup.window=PT0S")) {
+            UserServices userServices = context.getBean(UserServices.class);
+            String username = "loadtest" + System.nanoTime();
+            String token = BlogContext.register(userServices, username);
+            List<String> postIds = BlogContext.createPosts(userServices, username, token, Integer.parseInt(options.get("posts")));
+            if (BlogContext.STUB.equals(backend)) InMemoryMongoRepository.setSimulatedLatency(Duration.parse(options.get("latency")));
+
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + API;
+            HttpRequest readPosts = HttpRequest.newBuilder(URI.create(baseUrl + "/all_posts?size=20&username=" + username)).GET().build();
+            List<HttpRequest> viewPosts = viewRequests(context.getBean(ObjectMapper.class), baseUrl, userServices, username, postIds);
+
+            long start = System.nanoTime();
+            long measureFrom = start + warmup.toNanos();
+            long deadline = measureFrom + duration.toNanos();
+            List<Recorder> recorders = new ArrayList<>(concurrency);
+            try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+                 ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < concurrency; i++) {
+                    Recorder recorder = new Recorder();
+                    recorders.add(recorder);
+                    clientThreads.execute(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (System.nanoTime() < deadline) {
+                            HttpRequest request = random.nextDouble() < viewRatio
+                                    ? viewPosts.get(random.nextInt(viewPosts.size()))
+                                    : readPosts;
+                            long sent = System.nanoTime();
+                            boolean failed;
+                            try {
+                                failed = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 500;
+                            } catch (Exception e) {
+                                failed = true;
+                            }
+                            if (sent >= measureFrom) recorder.record(System.nanoTime() - sent, failed);
+                        }
+                    });
+                }
+                clientThreads.shutdown();
+                clientThreads.awaitTermination(duration.plus(warmup).toSeconds() + 60, TimeUnit.SECONDS);
+            } finally {
+                InMemoryMongoRepository.setSimulatedLatency(Duration.ZERO);
+            }
+            return Result.of(recorders, duration);
+        }
+    }
+
+    private static List<HttpRequest> viewRequests(ObjectMapper objectMapper, String baseUrl, UserServices userServices,
+                                                  String username, List<String> postIds) throws Exception {
+        List<HttpRequest> requests = new ArrayList<>(postIds.size());
+        for (String postId : postIds) {
+            ViewPostRequest viewPostRequest = new ViewPostRequest();
+            viewPostRequest.setPostId(postId);
+            viewPostRequest.setViewer(userServices.findUserByName(username));
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + "/view_post"))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(viewPostRequest)))
+                    .build());
+        }
+        return requests;
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(long latency, boolean failed) {
+            if (size == latencies.length) latencies = Arrays.copyOf(latencies, size * 2);
+            latencies[size++] = latency;
+            if (failed) errors++;
+        }
+    }
+
+    private record Result(long[] latencies, long errors, Duration duration) {
+
+        static Result of(List<Recorder> recorders, Duration duration) {
+            long[] merged = new long[recorders.stream().mapToInt(recorder -> recorder.size).sum()];
+            int offset = 0;
+            long errors = 0;
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.latencies, 0, merged, offset, recorder.size);
+                offset += recorder.size;
+                errors += recorder.errors;
+            }
+            Arrays.sort(merged);
+            return new Result(merged, errors, duration);
+        }
+
+        long requests() {
+            return latencies.length;
+        }
+
+        double throughput() {
+            return latencies.length / (duration.toNanos() / 1e9);
+        }
+
+        double percentile(double percentile) {
+            if (latencies.length == 0) return 0;
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(percentile * latencies.length) - 1);
+            return latencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
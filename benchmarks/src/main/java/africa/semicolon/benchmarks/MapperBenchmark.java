@@ -0,0 +1,97 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.data.models.Comment;
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.User;
+import africa.semicolon.dto.requests.CreatePostRequest;
+import africa.semicolon.dto.requests.UserRegisterRequest;
+import africa.semicolon.dto.responses.CommentPostResponse;
+import africa.semicolon.dto.responses.CreatePostResponse;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.dto.responses.UserPostsResponse;
+import africa.semicolon.dto.responses.UserRegisterResponse;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static africa.semicolon.utils.Mapper.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"20", "100"})
+    int postsPerPage;
+
+    UserRegisterRequest registerRequest;
+    CreatePostRequest createPostRequest;
+    User user;
+    Post post;
+    Comment comment;
+    List<PostSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        registerRequest = new UserRegisterRequest();
+        registerRequest.setFirstName("Bench");
+        registerRequest.setLastName("Mark");
+        registerRequest.setUsername("benchmark");
+        registerRequest.setPassword("password");
+
+        user = requestMap(registerRequest);
+        user.setId(new ObjectId().toHexString());
+
+        createPostRequest = BlogContext.postRequest(user.getUsername(), "token", 0);
+        post = requestMap(createPostRequest);
+        post.setId(new ObjectId().toHexString());
+
+        comment = new Comment();
+        comment.setId(new ObjectId().toHexString());
+        comment.setCommenter(user);
+        comment.setComment("Nice post");
+
+        summaries = new ArrayList<>(postsPerPage + 1);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i <= postsPerPage; i++) {
+            summaries.add(new PostSummary(new ObjectId().toHexString(), "Post " + i, post.getContent(), 0, 0, now.minusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public User registerRequestMap() {
+        return requestMap(registerRequest);
+    }
+
+    @Benchmark
+    public Post createPostRequestMap() {
+        return requestMap(createPostRequest);
+    }
+
+    @Benchmark
+    public UserRegisterResponse registerResponseMap() {
+        return responseMap(user);
+    }
+
+    @Benchmark
+    public CreatePostResponse createPostResponse() {
+        return createPostResponseMap(post);
+    }
+
+    @Benchmark
+    public CommentPostResponse commentPostResponse() {
+        return commentPostResponseMap(post, comment);
+    }
+
+    @Benchmark
+    public UserPostsResponse userPostsResponse() {
+        return allPostResponseMap(user.getUsername(), summaries, postsPerPage);
+    }
+}
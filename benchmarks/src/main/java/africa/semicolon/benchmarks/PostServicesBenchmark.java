@@ -0,0 +1,102 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.User;
+import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.dto.requests.CommentPostRequest;
+import africa.semicolon.dto.requests.ViewPostRequest;
+import africa.semicolon.dto.responses.CommentPostResponse;
+import africa.semicolon.dto.responses.ViewPostResponse;
+import africa.semicolon.services.PostServices;
+import africa.semicolon.services.UserServices;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostServicesBenchmark {
+
+    @Param({BlogContext.STUB, BlogContext.EMBEDDED})
+    String backend;
+
+    @Param({"0", "10", "100"})
+    int commentsPerPost;
+
+    ConfigurableApplicationContext context;
+    PostServices postServices;
+    PostRepository postRepository;
+    String postId;
+    ViewPostRequest viewPostRequest;
+    AtomicLong viewers = new AtomicLong();
+    CommentPostRequest commentPostRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BlogContext.start(backend);
+        UserServices userServices = context.getBean(UserServices.class);
+        postServices = context.getBean(PostServices.class);
+        postRepository = context.getBean(PostRepository.class);
+
+        String username = "author" + System.nanoTime();
+        String token = BlogContext.register(userServices, username);
+        postId = BlogContext.createPosts(userServices, username, token, 1).getFirst();
+        User reader = userServices.findUserByName(username);
+
+        viewPostRequest = new ViewPostRequest();
+        viewPostRequest.setPostId(postId);
+        viewPostRequest.setViewer(reader);
+
+        commentPostRequest = new CommentPostRequest();
+        commentPostRequest.setPostId(postId);
+        commentPostRequest.setCommenter(reader);
+        commentPostRequest.setComment("Nice post");
+        for (int i = 0; i < commentsPerPost; i++) postServices.addComment(commentPostRequest);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Post loadPost() {
+        return postRepository.findById(postId).orElseThrow();
+    }
+
+    @Benchmark
+    public ViewPostResponse addView() {
+        return postServices.addView(newViewerRequest());
+    }
+
+    @Benchmark
+    public ViewPostResponse addRepeatView() {
+        return postServices.addView(viewPostRequest);
+    }
+
+    @Benchmark
+    public CommentPostResponse addComment() {
+        return postServices.addComment(commentPostRequest);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ViewPostResponse addViewContended() {
+        return postServices.addView(newViewerRequest());
+    }
+
+    private ViewPostRequest newViewerRequest() {
+        User viewer = new User();
+        viewer.setId("viewer" + viewers.incrementAndGet());
+        ViewPostRequest request = new ViewPostRequest();
+        request.setPostId(postId);
+        request.setViewer(viewer);
+        return request;
+    }
+}
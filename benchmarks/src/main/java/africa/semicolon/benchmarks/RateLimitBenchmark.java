@@ -0,0 +1,68 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.data.models.Session;
+import africa.semicolon.ratelimit.RateLimiter;
+import africa.semicolon.utils.TokenBucket.Limit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead the limiter adds to a request that is let through: resolving the client, finding its bucket and
+ * taking a token. Limits are set high enough that nothing is rejected. "token" requests resolve a cached
+ * session, "address" requests are keyed by remote address. Run with {@code -t 4} to see CAS contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    private static final String ENDPOINT = "/api/Blogspot/view_post";
+
+    @Param({"100", "100000"})
+    int clients;
+
+    @Param({"token", "address"})
+    String client;
+
+    RateLimiter rateLimiter;
+    String[] tokens;
+    String[] addresses;
+
+    @Setup
+    public void setUp() {
+        Cache<String, Session> sessionCache = Caffeine.newBuilder().maximumSize(2L * clients).build();
+        tokens = new String[clients];
+        addresses = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            Session session = new Session();
+            session.setToken("token" + i);
+            session.setUsername("user" + i);
+            session.setExpiresAt(LocalDateTime.now().plusHours(1));
+            sessionCache.put(session.getToken(), session);
+            tokens[i] = "token".equals(client) ? session.getToken() : null;
+            addresses[i] = "10.0." + (i >> 8 & 0xFF) + "." + (i & 0xFF);
+        }
+        Limit unlimited = Limit.of(1_000_000_000, 1_000_000);
+        rateLimiter = new RateLimiter(sessionCache, unlimited, unlimited, 2L * clients, Duration.ofMinutes(10));
+    }
+
+    @Benchmark
+    public long allowedRequest() {
+        int i = ThreadLocalRandom.current().nextInt(clients);
+        return rateLimiter.tryAcquire(ENDPOINT, true, tokens[i], addresses[i]);
+    }
+
+    @Benchmark
+    public int baseline() {
+        return ThreadLocalRandom.current().nextInt(clients);
+    }
+}
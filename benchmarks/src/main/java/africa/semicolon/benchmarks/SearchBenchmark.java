@@ -0,0 +1,103 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.dto.responses.SearchResponse;
+import africa.semicolon.services.SearchServices;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the in-process BM25 index ({@code memory}) with Mongo's text index ({@code mongo}, needs an
+ * embedded mongod) over the same synthetic corpus. Loading a million posts takes a while for either
+ * backend; pass {@code -p posts=100000} for a quicker run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final int LOAD_BATCH = 10_000;
+
+    @Param({"memory", "mongo"})
+    String searchBackend;
+
+    @Param({"1000000"})
+    int posts;
+
+    @Param({"1", "3"})
+    int termsPerQuery;
+
+    ConfigurableApplicationContext context;
+    SearchServices searchServices;
+    MongoTemplate mongoTemplate;
+    SyntheticCorpus corpus;
+    String[] queries;
+    final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean mongo = "mongo".equals(searchBackend);
+        context = BlogContext.start(mongo ? BlogContext.EMBEDDED : BlogContext.STUB,
+                "--spring.main.web-application-type=none",
+                "--blog.search.backend=" + searchBackend);
+        searchServices = context.getBean(SearchServices.class);
+        if (mongo) mongoTemplate = context.getBean(MongoTemplate.class);
+
+        corpus = new SyntheticCorpus(42);
+        long started = System.nanoTime();
+        List<Post> batch = new ArrayList<>(LOAD_BATCH);
+        for (int count = 0; count < posts; count++) {
+            batch.add(corpus.nextPost("author"));
+            if (batch.size() == LOAD_BATCH || count == posts - 1) {
+                load(batch);
+                batch.clear();
+            }
+        }
+        System.err.printf("%nLoaded %d posts into %s in %d ms%n", posts, searchBackend,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        queries = new String[QUERIES];
+        for (int index = 0; index < QUERIES; index++) queries[index] = corpus.nextQuery(termsPerQuery);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (mongoTemplate != null) mongoTemplate.dropCollection(Post.class);
+        context.close();
+    }
+
+    @Benchmark
+    public SearchResponse search() {
+        return searchServices.search(nextQuery(), 0, 20);
+    }
+
+    @Benchmark
+    public SearchResponse searchThirdPage() {
+        return searchServices.search(nextQuery(), 2, 20);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public SearchResponse searchContended() {
+        return searchServices.search(nextQuery(), 0, 20);
+    }
+
+    private String nextQuery() {
+        return queries[next.getAndIncrement() & (QUERIES - 1)];
+    }
+
+    private void load(List<Post> batch) {
+        if (mongoTemplate != null) mongoTemplate.insert(batch, Post.class);
+        else batch.forEach(searchServices::index);
+    }
+}
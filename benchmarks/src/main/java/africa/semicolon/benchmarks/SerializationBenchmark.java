@@ -0,0 +1,94 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.dto.responses.UserApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static africa.semicolon.data.converters.SummaryConverters.postSummary;
+import static africa.semicolon.utils.Mapper.allPostResponseMap;
+
+/**
+ * Cost of one user-posts page after the database returns: reading the summary documents, then writing the
+ * JSON body. "reflective" maps rows into the record through the mapping converter, "prebuilt" reads raw
+ * documents through the summary converters. Both write with Jackson defaults. Run with {@code -prof gc} to
+ * compare allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 8, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    int postsPerPage;
+
+    @Param({"reflective", "prebuilt"})
+    String mapping;
+
+    boolean prebuilt;
+    MappingMongoConverter converter;
+    ObjectMapper objectMapper;
+    List<Document> documents;
+    UserApiResponse page;
+
+    @Setup
+    public void setUp() {
+        prebuilt = "prebuilt".equals(mapping);
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        String snippet = BlogContext.postRequest("benchmark", "token", 0).getContent().substring(0, 140);
+        long now = System.currentTimeMillis();
+        documents = new ArrayList<>(postsPerPage + 1);
+        for (int i = 0; i <= postsPerPage; i++) documents.add(new Document("_id", new ObjectId())
+                .append("title", "Post " + i)
+                .append("snippet", snippet)
+                .append("viewCount", 1000L + i)
+                .append("commentCount", i)
+                .append("dateCreated", new Date(now - i * 60_000L)));
+        page = new UserApiResponse(true, allPostResponseMap("benchmark", readPage(), postsPerPage));
+    }
+
+    @Benchmark
+    public List<PostSummary> readPage() {
+        List<PostSummary> summaries = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            summaries.add(prebuilt ? postSummary(converter.read(Document.class, document)) : converter.read(PostSummary.class, document));
+        }
+        return summaries;
+    }
+
+    @Benchmark
+    public byte[] writePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] userPostsPage() throws Exception {
+        return objectMapper.writeValueAsBytes(new UserApiResponse(true, allPostResponseMap("benchmark", readPage(), postsPerPage)));
+    }
+}
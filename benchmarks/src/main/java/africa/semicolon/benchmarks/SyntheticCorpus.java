@@ -0,0 +1,63 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.data.models.Post;
+import org.bson.types.ObjectId;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Deterministic posts whose words follow a Zipf distribution, so posting list lengths look like real text:
+ * a few terms appear in most posts and the long tail appears in a handful.
+ */
+public final class SyntheticCorpus {
+
+    private static final int VOCABULARY = 50_000;
+    private static final int TITLE_WORDS = 6;
+    private static final int CONTENT_WORDS = 60;
+
+    private final Random random;
+    private final double[] cumulative = new double[VOCABULARY];
+
+    public SyntheticCorpus(long seed) {
+        random = new Random(seed);
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < VOCABULARY; rank++) cumulative[rank] /= total;
+    }
+
+    public Post nextPost(String authorId) {
+        Post post = new Post();
+        post.setId(new ObjectId().toHexString());
+        post.setAuthorId(authorId);
+        post.setTitle(words(TITLE_WORDS));
+        post.setContent(words(CONTENT_WORDS));
+        return post;
+    }
+
+    public String nextQuery(int terms) {
+        StringBuilder query = new StringBuilder();
+        for (int count = 0; count < terms; count++) {
+            if (count > 0) query.append(' ');
+            query.append(word(10 + random.nextInt(5_000)));
+        }
+        return query.toString();
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int index = 0; index < count; index++) {
+            if (index > 0) text.append(' ');
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            text.append(word(rank < 0 ? -rank - 1 : rank));
+        }
+        return text.toString();
+    }
+
+    private static String word(int rank) {
+        return "w" + Integer.toString(rank, 36);
+    }
+}
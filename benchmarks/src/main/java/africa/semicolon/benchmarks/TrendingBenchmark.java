@@ -0,0 +1,62 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.dto.responses.TrendingPost;
+import africa.semicolon.services.TrendingServices;
+import africa.semicolon.services.UserServices;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrendingBenchmark {
+
+    @Param({"1000", "100000"})
+    int trackedPosts;
+
+    ConfigurableApplicationContext context;
+    UserServices userServices;
+    TrendingServices trendingServices;
+    List<String> postIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BlogContext.start(BlogContext.STUB);
+        userServices = context.getBean(UserServices.class);
+        trendingServices = context.getBean(TrendingServices.class);
+
+        String username = "author" + System.nanoTime();
+        String token = BlogContext.register(userServices, username);
+        postIds = BlogContext.createPosts(userServices, username, token, trackedPosts);
+        for (String postId : postIds) trendingServices.recordView(postId);
+        trendingServices.refresh();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TrendingPost> topTrending() {
+        return userServices.getTrendingPosts(20);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordViewContended() {
+        trendingServices.recordView(postIds.get(ThreadLocalRandom.current().nextInt(postIds.size())));
+    }
+
+    @Benchmark
+    public void refresh() {
+        trendingServices.refresh();
+    }
+}
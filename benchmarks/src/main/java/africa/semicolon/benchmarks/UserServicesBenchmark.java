@@ -0,0 +1,64 @@
+package africa.semicolon.benchmarks;
+
+import africa.semicolon.dto.responses.CreatePostResponse;
+import africa.semicolon.dto.responses.UserPostsResponse;
+import africa.semicolon.services.UserServices;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServicesBenchmark {
+
+    @Param({BlogContext.STUB, BlogContext.EMBEDDED})
+    String backend;
+
+    @Param({"10", "100", "1000"})
+    int postsPerUser;
+
+    @Param({"20"})
+    int pageSize;
+
+    ConfigurableApplicationContext context;
+    UserServices userServices;
+    String username;
+    String token;
+    String secondPage;
+    int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BlogContext.start(backend);
+        userServices = context.getBean(UserServices.class);
+        username = "author" + System.nanoTime();
+        token = BlogContext.register(userServices, username);
+        BlogContext.createPosts(userServices, username, token, postsPerUser);
+        secondPage = userServices.getUserPosts(username, null, pageSize).nextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CreatePostResponse createPost() {
+        return userServices.createPost(BlogContext.postRequest(username, token, counter++));
+    }
+
+    @Benchmark
+    public UserPostsResponse getUserPostsFirstPage() {
+        return userServices.getUserPosts(username, null, pageSize);
+    }
+
+    @Benchmark
+    public UserPostsResponse getUserPostsNextPage() {
+        return userServices.getUserPosts(username, secondPage, pageSize);
+    }
+}
@@ -0,0 +1,78 @@
+package africa.semicolon.benchmarks.stubs;
+
+import africa.semicolon.data.models.Comment;
+import africa.semicolon.data.repositories.CommentRepository;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.dto.responses.PostScore;
+import africa.semicolon.utils.PageCursor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class InMemoryCommentRepository extends InMemoryMongoRepository<Comment> implements CommentRepository {
+
+    private static final Comparator<Comment> NEWEST_FIRST = Comparator.comparing(Comment::getTimeOfComment)
+            .thenComparing(Comment::getId)
+            .reversed();
+
+    public InMemoryCommentRepository() {
+        super(Comment::getId, Comment::setId);
+    }
+
+    @Override
+    public Comment findAndRemove(String postId, String commentId) {
+        roundTrip();
+        Comment comment = documents.get(commentId);
+        if (comment == null || !postId.equals(comment.getPostId())) return null;
+        return documents.remove(commentId, comment) ? comment : null;
+    }
+
+    @Override
+    public List<CommentSummary> findPage(String postId, PageCursor after, int limit) {
+        roundTrip();
+        Predicate<Comment> afterCursor = after == null ? comment -> true : comment ->
+                comment.getTimeOfComment().isBefore(after.dateCreated()) ||
+                        comment.getTimeOfComment().isEqual(after.dateCreated()) && comment.getId().compareTo(after.id()) < 0;
+        return documents.values().stream()
+                .filter(comment -> postId.equals(comment.getPostId()))
+                .sorted(NEWEST_FIRST)
+                .filter(afterCursor)
+                .limit(limit)
+                .map(InMemoryCommentRepository::summaryOf)
+                .toList();
+    }
+
+    @Override
+    public List<PostScore> sumDecayedComments(LocalDateTime since, LocalDateTime until, LocalDateTime landmark, double decayPerSecond) {
+        roundTrip();
+        Map<String, Double> scores = documents.values().stream()
+                .filter(comment -> !comment.getTimeOfComment().isBefore(since) && comment.getTimeOfComment().isBefore(until))
+                .collect(Collectors.groupingBy(Comment::getPostId, Collectors.summingDouble(comment ->
+                        Math.exp(Duration.between(landmark, comment.getTimeOfComment()).toMillis() / 1000.0 * decayPerSecond))));
+        return scores.entrySet().stream()
+                .map(entry -> new PostScore(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static CommentSummary summaryOf(Comment comment) {
+        return new CommentSummary(comment.getId(), comment.getCommenterName(), comment.getComment(), comment.getTimeOfComment());
+    }
+
+    @Override
+    public long deleteBatchByPostId(String postId, int limit) {
+        return deleteBatch(comment -> postId.equals(comment.getPostId()), limit);
+    }
+
+    @Override
+    public Stream<String> streamPostIds() {
+        roundTrip();
+        return documents.values().stream().map(Comment::getPostId).filter(Objects::nonNull).distinct();
+    }
+}
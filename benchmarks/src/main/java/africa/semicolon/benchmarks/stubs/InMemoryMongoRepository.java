@@ -0,0 +1,208 @@
+package africa.semicolon.benchmarks.stubs;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Map-backed stand-in for a Spring Data Mongo repository, so the service layer can be benchmarked
+ * without any I/O. Only the CRUD operations the services call are implemented; query-by-example and
+ * paging throw {@link UnsupportedOperationException}. {@link #setSimulatedLatency} adds a fixed delay to
+ * every call to stand in for a slow database.
+ */
+public abstract class InMemoryMongoRepository<T> implements MongoRepository<T, String> {
+
+    private static volatile Duration simulatedLatency = Duration.ZERO;
+
+    protected final Map<String, T> documents = new ConcurrentHashMap<>();
+    private final Function<T, String> idGetter;
+    private final BiConsumer<T, String> idSetter;
+
+    protected InMemoryMongoRepository(Function<T, String> idGetter, BiConsumer<T, String> idSetter) {
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+    }
+
+    public static void setSimulatedLatency(Duration latency) {
+        simulatedLatency = latency;
+    }
+
+    protected static void roundTrip() {
+        Duration latency = simulatedLatency;
+        if (latency.isZero()) return;
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        roundTrip();
+        return store(entity);
+    }
+
+    private <S extends T> S store(S entity) {
+        String id = idGetter.apply(entity);
+        if (id == null) {
+            id = new ObjectId().toHexString();
+            idSetter.accept(entity, id);
+        }
+        documents.put(id, entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        roundTrip();
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) saved.add(store(entity));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        roundTrip();
+        return Optional.ofNullable(documents.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        roundTrip();
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        roundTrip();
+        return new ArrayList<>(documents.values());
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        roundTrip();
+        List<T> found = new ArrayList<>();
+        for (String id : ids) {
+            T document = documents.get(id);
+            if (document != null) found.add(document);
+        }
+        return found;
+    }
+
+    @Override
+    public long count() {
+        roundTrip();
+        return documents.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        roundTrip();
+        documents.remove(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        roundTrip();
+        documents.remove(idGetter.apply(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        roundTrip();
+        for (String id : ids) documents.remove(id);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        roundTrip();
+        for (T entity : entities) documents.remove(idGetter.apply(entity));
+    }
+
+    @Override
+    public void deleteAll() {
+        roundTrip();
+        documents.clear();
+    }
+
+    protected long deleteBatch(Predicate<T> filter, int limit) {
+        roundTrip();
+        List<String> ids = documents.entrySet().stream()
+                .filter(entry -> filter.test(entry.getValue()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+        ids.forEach(documents::remove);
+        return ids.size();
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException();
+    }
+}
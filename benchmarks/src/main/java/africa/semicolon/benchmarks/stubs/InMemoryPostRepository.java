@@ -0,0 +1,177 @@
+package africa.semicolon.benchmarks.stubs;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.RecentComment;
+import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.utils.PageCursor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static africa.semicolon.data.repositories.PostQueries.LATEST_COMMENTS;
+
+public class InMemoryPostRepository extends InMemoryMongoRepository<Post> implements PostRepository {
+
+    private static final int SNIPPET_LENGTH = 140;
+    private static final Comparator<Post> NEWEST_FIRST = Comparator.comparing(Post::getDateCreated)
+            .thenComparing(Post::getId)
+            .reversed();
+
+    private static final Comparator<RecentComment> OLDEST_FIRST = Comparator.comparing(RecentComment::getTimeOfComment)
+            .thenComparing(RecentComment::getCommentId);
+
+    public InMemoryPostRepository() {
+        super(Post::getId, Post::setId);
+    }
+
+    @Override
+    public int countByAuthorId(String authorId) {
+        roundTrip();
+        return (int) documents.values().stream()
+                .filter(post -> authorId.equals(post.getAuthorId()))
+                .count();
+    }
+
+    @Override
+    public void incrementViewCounts(Map<String, Long> viewCounts) {
+        roundTrip();
+        viewCounts.forEach((postId, count) -> documents.computeIfPresent(postId, (id, post) -> {
+            post.setViewCount(post.getViewCount() + count);
+            post.setVersion(post.getVersion() + 1);
+            return post;
+        }));
+    }
+
+    @Override
+    public Post pushComment(String postId, RecentComment comment) {
+        return modifyAndReturnTitle(postId, post -> addLatestComments(post, List.of(comment)));
+    }
+
+    @Override
+    public Post pullComment(String postId, String commentId) {
+        return modifyAndReturnTitle(postId, post -> {
+            post.getLatestComments().removeIf(comment -> commentId.equals(comment.getCommentId()));
+            post.setCommentCount(post.getCommentCount() - 1);
+            post.setVersion(post.getVersion() + 1);
+        });
+    }
+
+    @Override
+    public void pushComments(Map<String, List<RecentComment>> commentsByPost) {
+        roundTrip();
+        commentsByPost.forEach((postId, comments) -> {
+            Post post = documents.get(postId);
+            if (post == null) return;
+            synchronized (post) {
+                addLatestComments(post, comments);
+            }
+        });
+    }
+
+    @Override
+    public Set<String> findExistingIds(Collection<String> postIds) {
+        roundTrip();
+        return postIds.stream()
+                .filter(documents::containsKey)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Long findVersion(String postId) {
+        roundTrip();
+        Post post = documents.get(postId);
+        return post == null ? null : post.getVersion();
+    }
+
+    @Override
+    public List<PostSummary> findSummaryPage(String authorId, PageCursor after, int limit) {
+        roundTrip();
+        Predicate<Post> afterCursor = after == null ? post -> true : post ->
+                post.getDateCreated().isBefore(after.dateCreated()) ||
+                        post.getDateCreated().isEqual(after.dateCreated()) && post.getId().compareTo(after.id()) < 0;
+        return summaries(authorId)
+                .filter(afterCursor)
+                .limit(limit)
+                .map(InMemoryPostRepository::summaryOf)
+                .toList();
+    }
+
+    @Override
+    public Stream<PostSummary> streamSummaries(String authorId) {
+        roundTrip();
+        return summaries(authorId).map(InMemoryPostRepository::summaryOf);
+    }
+
+    @Override
+    public List<PostSummary> findTopSummaries(String field, int limit) {
+        roundTrip();
+        Comparator<Post> byField = "commentCount".equals(field)
+                ? Comparator.comparingInt(Post::getCommentCount)
+                : Comparator.comparingLong(Post::getViewCount);
+        return documents.values().stream()
+                .sorted(byField.reversed())
+                .limit(limit)
+                .map(InMemoryPostRepository::summaryOf)
+                .toList();
+    }
+
+    @Override
+    public Map<String, String> findTitles(Collection<String> postIds) {
+        roundTrip();
+        return postIds.stream()
+                .map(documents::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Post::getId, post -> Objects.requireNonNullElse(post.getTitle(), "")));
+    }
+
+    @Override
+    public Stream<Post> streamSearchDocuments() {
+        roundTrip();
+        return documents.values().stream();
+    }
+
+    private Stream<Post> summaries(String authorId) {
+        return documents.values().stream()
+                .filter(post -> authorId.equals(post.getAuthorId()))
+                .sorted(NEWEST_FIRST);
+    }
+
+    private Post modifyAndReturnTitle(String postId, Consumer<Post> update) {
+        roundTrip();
+        Post post = documents.get(postId);
+        if (post == null) return null;
+        synchronized (post) {
+            update.accept(post);
+        }
+        Post projection = new Post();
+        projection.setId(post.getId());
+        projection.setTitle(post.getTitle());
+        return projection;
+    }
+
+    private static void addLatestComments(Post post, List<RecentComment> comments) {
+        List<RecentComment> latestComments = new ArrayList<>(post.getLatestComments());
+        latestComments.addAll(comments);
+        latestComments.sort(OLDEST_FIRST);
+        post.setLatestComments(latestComments.subList(Math.max(0, latestComments.size() - LATEST_COMMENTS), latestComments.size()));
+        post.setCommentCount(post.getCommentCount() + comments.size());
+        post.setVersion(post.getVersion() + 1);
+    }
+
+    private static PostSummary summaryOf(Post post) {
+        String content = post.getContent() == null ? "" : post.getContent();
+        return new PostSummary(post.getId(), post.getTitle(),
+                content.length() > SNIPPET_LENGTH ? content.substring(0, SNIPPET_LENGTH) : content,
+                post.getViewCount(), post.getCommentCount(), post.getDateCreated());
+    }
+}
@@ -0,0 +1,24 @@
+package africa.semicolon.benchmarks.stubs;
+
+import africa.semicolon.data.models.PostTombstone;
+import africa.semicolon.data.repositories.PostTombstoneRepository;
+import org.springframework.data.domain.Limit;
+
+import java.util.Comparator;
+import java.util.List;
+
+public class InMemoryPostTombstoneRepository extends InMemoryMongoRepository<PostTombstone> implements PostTombstoneRepository {
+
+    public InMemoryPostTombstoneRepository() {
+        super(PostTombstone::getPostId, PostTombstone::setPostId);
+    }
+
+    @Override
+    public List<PostTombstone> findAllByOrderByDeletedAtAsc(Limit limit) {
+        roundTrip();
+        return documents.values().stream()
+                .sorted(Comparator.comparing(PostTombstone::getDeletedAt))
+                .limit(limit.max())
+                .toList();
+    }
+}
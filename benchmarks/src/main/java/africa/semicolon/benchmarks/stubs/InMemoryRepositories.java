@@ -0,0 +1,41 @@
+package africa.semicolon.benchmarks.stubs;
+
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Bean source for the in-memory backend. Deliberately not a {@code @Configuration}: it lives under the
+ * application's base package and must only be picked up when {@link africa.semicolon.benchmarks.BlogContext}
+ * passes it in explicitly.
+ */
+public class InMemoryRepositories {
+
+    @Bean
+    InMemoryUserRepository userRepository() {
+        return new InMemoryUserRepository();
+    }
+
+    @Bean
+    InMemorySessionRepository sessionRepository() {
+        return new InMemorySessionRepository();
+    }
+
+    @Bean
+    InMemoryCommentRepository commentRepository() {
+        return new InMemoryCommentRepository();
+    }
+
+    @Bean
+    InMemoryPostRepository postRepository() {
+        return new InMemoryPostRepository();
+    }
+
+    @Bean
+    InMemoryViewBucketRepository viewBucketRepository() {
+        return new InMemoryViewBucketRepository();
+    }
+
+    @Bean
+    InMemoryPostTombstoneRepository postTombstoneRepository() {
+        return new InMemoryPostTombstoneRepository();
+    }
+}
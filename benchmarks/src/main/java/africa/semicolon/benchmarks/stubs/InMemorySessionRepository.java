@@ -0,0 +1,20 @@
+package africa.semicolon.benchmarks.stubs;
+
+import africa.semicolon.data.models.Session;
+import africa.semicolon.data.repositories.SessionRepository;
+
+import java.time.LocalDateTime;
+
+public class InMemorySessionRepository extends InMemoryMongoRepository<Session> implements SessionRepository {
+
+    public InMemorySessionRepository() {
+        super(Session::getToken, Session::setToken);
+    }
+
+    @Override
+    public boolean existsByUsernameAndExpiresAtAfter(String username, LocalDateTime time) {
+        roundTrip();
+        return documents.values().stream()
+                .anyMatch(session -> session.getUsername().equals(username) && session.getExpiresAt().isAfter(time));
+    }
+}
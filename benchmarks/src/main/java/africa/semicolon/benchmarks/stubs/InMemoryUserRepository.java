@@ -0,0 +1,46 @@
+package africa.semicolon.benchmarks.stubs;
+
+import africa.semicolon.data.models.User;
+import africa.semicolon.data.repositories.UserRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public class InMemoryUserRepository extends InMemoryMongoRepository<User> implements UserRepository {
+
+    public InMemoryUserRepository() {
+        super(User::getId, User::setId);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return findByUsername(username) != null;
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        roundTrip();
+        return documents.values().stream()
+                .filter(user -> user.getUsername().equals(username))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public List<User> findByUsernameIn(Collection<String> usernames) {
+        roundTrip();
+        return documents.values().stream()
+                .filter(user -> usernames.contains(user.getUsername()))
+                .toList();
+    }
+
+    @Override
+    public long updatePassword(String userId, String currentPassword, String newPassword) {
+        roundTrip();
+        User user = documents.get(userId);
+        if (user == null || !user.getPassword().equals(currentPassword)) return 0;
+        user.setPassword(newPassword);
+        user.setVersion(user.getVersion() + 1);
+        return 1;
+    }
+}
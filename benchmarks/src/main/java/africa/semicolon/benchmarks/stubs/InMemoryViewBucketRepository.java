@@ -0,0 +1,85 @@
+package africa.semicolon.benchmarks.stubs;
+
+import africa.semicolon.data.models.ViewBucket;
+import africa.semicolon.data.repositories.ViewBucketRepository;
+import africa.semicolon.dto.responses.PostScore;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class InMemoryViewBucketRepository extends InMemoryMongoRepository<ViewBucket> implements ViewBucketRepository {
+
+    public InMemoryViewBucketRepository() {
+        super(ViewBucket::getId, ViewBucket::setId);
+    }
+
+    @Override
+    public void addViews(Collection<ViewBucket> views) {
+        roundTrip();
+        for (ViewBucket bucket : views) documents.merge(bucket.getId(), copyOf(bucket), (stored, added) -> {
+            ViewBucket merged = copyOf(stored);
+            merged.setCount(stored.getCount() + added.getCount());
+            added.getViewers().forEach((register, rank) -> merged.getViewers().merge(register, rank, Math::max));
+            return merged;
+        });
+    }
+
+    @Override
+    public List<ViewBucket> findRange(String postId, LocalDateTime from, LocalDateTime to) {
+        roundTrip();
+        LocalDateTime firstHour = from.truncatedTo(ChronoUnit.HOURS);
+        return documents.values().stream()
+                .filter(bucket -> postId.equals(bucket.getPostId()))
+                .filter(bucket -> !bucket.getHour().isBefore(firstHour) && bucket.getHour().isBefore(to))
+                .sorted(Comparator.comparing(ViewBucket::getHour))
+                .toList();
+    }
+
+    @Override
+    public long sumViews() {
+        roundTrip();
+        return documents.values().stream().mapToLong(ViewBucket::getCount).sum();
+    }
+
+    @Override
+    public List<PostScore> sumDecayedViews(LocalDateTime since, LocalDateTime landmark, double decayPerSecond) {
+        roundTrip();
+        LocalDateTime firstHour = since.truncatedTo(ChronoUnit.HOURS);
+        Map<String, Double> scores = documents.values().stream()
+                .filter(bucket -> !bucket.getHour().isBefore(firstHour))
+                .collect(Collectors.groupingBy(ViewBucket::getPostId, Collectors.summingDouble(bucket -> bucket.getCount() *
+                        Math.exp(Duration.between(landmark, bucket.getHour()).toMillis() / 1000.0 * decayPerSecond))));
+        return scores.entrySet().stream()
+                .map(entry -> new PostScore(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    public long deleteBatchByPostId(String postId, int limit) {
+        return deleteBatch(bucket -> postId.equals(bucket.getPostId()), limit);
+    }
+
+    @Override
+    public Stream<String> streamPostIds() {
+        roundTrip();
+        return documents.values().stream().map(ViewBucket::getPostId).filter(Objects::nonNull).distinct();
+    }
+
+    private static ViewBucket copyOf(ViewBucket bucket) {
+        ViewBucket copy = new ViewBucket();
+        copy.setId(bucket.getId());
+        copy.setPostId(bucket.getPostId());
+        copy.setHour(bucket.getHour());
+        copy.setCount(bucket.getCount());
+        copy.getViewers().putAll(bucket.getViewers());
+        return copy;
+    }
+}
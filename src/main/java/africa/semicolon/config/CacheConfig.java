@@ -0,0 +1,100 @@
+package africa.semicolon.config;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.Session;
+import africa.semicolon.data.models.User;
+import africa.semicolon.data.repositories.PostRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class CacheConfig {
+
+    // A synchronous load runs inside the cache's map lock and would pin a virtual thread's carrier for the
+    // whole Mongo round trip, so in virtual-thread mode loads go through an async cache instead.
+    private static final Executor VIRTUAL_LOADER = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    boolean virtualThreads;
+
+    @Bean
+    public Cache<String, Session> sessionCache(@Value("${blog.sessions.cache.max-size:100000}") long maximumSize,
+                                               @Value("${blog.sessions.cache.ttl:PT5M}") Duration cacheTtl,
+                                               MeterRegistry meterRegistry) {
+        Caffeine<String, Session> builder = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(untilSessionExpiry(cacheTtl))
+                .recordStats();
+        Cache<String, Session> cache = virtualThreads
+                ? builder.executor(VIRTUAL_LOADER).<String, Session>buildAsync().synchronous()
+                : builder.build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "sessions");
+    }
+
+    @Bean
+    public Cache<String, User> userCache(@Value("${blog.users.cache.max-size:10000}") long maximumSize,
+                                         @Value("${blog.users.cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+                                         MeterRegistry meterRegistry) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats();
+        Cache<String, User> cache = virtualThreads
+                ? builder.executor(VIRTUAL_LOADER).<String, User>buildAsync().synchronous()
+                : builder.build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    @Bean
+    public LoadingCache<String, Post> postCache(PostRepository postRepository,
+                                                @Value("${blog.posts.cache.max-size:10000}") long maximumSize,
+                                                @Value("${blog.posts.cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+                                                @Value("${blog.posts.cache.stale-while-revalidate:false}") boolean staleWhileRevalidate,
+                                                @Value("${blog.posts.cache.refresh-after-write:PT5S}") Duration refreshAfterWrite,
+                                                MeterRegistry meterRegistry) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats();
+        if (staleWhileRevalidate) builder.refreshAfterWrite(refreshAfterWrite);
+        CacheLoader<String, Post> loader = postId -> postRepository.findById(postId).orElse(null);
+        LoadingCache<String, Post> cache = virtualThreads
+                ? builder.executor(VIRTUAL_LOADER).buildAsync(loader).synchronous()
+                : builder.build(loader);
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "posts");
+    }
+
+    private static Expiry<String, Session> untilSessionExpiry(Duration cacheTtl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String token, Session session, long currentTime) {
+                Duration remaining = Duration.between(LocalDateTime.now(), session.getExpiresAt());
+                if (remaining.isNegative()) return 0;
+                return Math.min(remaining.toNanos(), cacheTtl.toNanos());
+            }
+
+            @Override
+            public long expireAfterUpdate(String token, Session session, long currentTime, long currentDuration) {
+                return expireAfterCreate(token, session, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String token, Session session, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package africa.semicolon.config;
+
+import africa.semicolon.metrics.MongoPayloadMetrics;
+import africa.semicolon.metrics.MongoRequestMetricsFilter;
+import africa.semicolon.metrics.ServiceMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final String SERVICES_PACKAGE = "africa.semicolon.services";
+    private static final String SERVICES_SUFFIX = "ServicesImpl";
+
+    @Bean
+    public static BeanPostProcessor serviceMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Class<?> type = bean.getClass();
+                if (!type.getPackageName().startsWith(SERVICES_PACKAGE) || !type.getSimpleName().endsWith(SERVICES_SUFFIX)) return bean;
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.addAdvice(new ServiceMetricsInterceptor(meterRegistry.getObject(), type.getSimpleName()));
+                return proxyFactory.getProxy(type.getClassLoader());
+            }
+        };
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPayloadMetricsCustomizer(MeterRegistry meterRegistry,
+            @Value("${blog.mongo.payload-metrics.command-sample-rate:100}") int commandSampleRate) {
+        MongoPayloadMetrics listener = new MongoPayloadMetrics(meterRegistry, commandSampleRate);
+        return settings -> settings.addCommandListener(listener);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = SERVLET)
+    public MongoRequestMetricsFilter mongoRequestMetricsFilter(MeterRegistry meterRegistry) {
+        return new MongoRequestMetricsFilter(meterRegistry);
+    }
+}
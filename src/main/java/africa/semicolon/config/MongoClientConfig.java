@@ -0,0 +1,26 @@
+package africa.semicolon.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@Configuration
+public class MongoClientConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(@Value("${blog.mongo.pool.max-size:100}") int maxSize,
+                                                                        @Value("${blog.mongo.pool.min-size:0}") int minSize,
+                                                                        @Value("${blog.mongo.pool.max-connecting:2}") int maxConnecting,
+                                                                        @Value("${blog.mongo.pool.max-wait-time:PT2S}") Duration maxWaitTime) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWaitTime.toMillis(), MILLISECONDS));
+    }
+}
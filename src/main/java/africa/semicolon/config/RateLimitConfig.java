@@ -0,0 +1,58 @@
+package africa.semicolon.config;
+
+import africa.semicolon.data.models.Session;
+import africa.semicolon.ratelimit.RateLimitFilter;
+import africa.semicolon.ratelimit.RateLimitInterceptor;
+import africa.semicolon.ratelimit.RateLimiter;
+import africa.semicolon.utils.TokenBucket.Limit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+@Configuration
+@ConditionalOnProperty(name = "blog.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    private static final String API_PATTERN = "/api/Blogspot/**";
+
+    @Bean
+    public RateLimiter rateLimiter(Cache<String, Session> sessionCache,
+                                   @Value("${blog.rate-limit.read.requests-per-second:20}") double readRate,
+                                   @Value("${blog.rate-limit.read.burst:40}") int readBurst,
+                                   @Value("${blog.rate-limit.write.requests-per-second:5}") double writeRate,
+                                   @Value("${blog.rate-limit.write.burst:10}") int writeBurst,
+                                   @Value("${blog.rate-limit.max-buckets:100000}") long maximumBuckets,
+                                   @Value("${blog.rate-limit.idle-timeout:PT10M}") Duration idleTimeout) {
+        return new RateLimiter(sessionCache, Limit.of(readRate, readBurst), Limit.of(writeRate, writeBurst),
+                maximumBuckets, idleTimeout);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = SERVLET)
+    public WebMvcConfigurer rateLimitInterceptorConfigurer(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, objectMapper);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns(API_PATTERN);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = REACTIVE)
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter) {
+        return new RateLimitFilter(rateLimiter);
+    }
+}
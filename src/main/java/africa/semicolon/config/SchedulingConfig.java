@@ -0,0 +1,31 @@
+package africa.semicolon.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Deletion sweeps run on their own scheduler so a long reclaim or orphan sweep never holds up the view flush,
+ * trending and rate limit jobs on the shared spring.task.scheduling pool. Declaring a second scheduler turns the
+ * auto-configured one off, so the shared pool is declared here too, still built from spring.task.scheduling.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    public static final String DELETION_SCHEDULER = "deletionScheduler";
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(DELETION_SCHEDULER)
+    public ThreadPoolTaskScheduler deletionScheduler(@Value("${blog.deletes.pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("deletes-");
+        return scheduler;
+    }
+}
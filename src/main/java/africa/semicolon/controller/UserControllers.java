@@ -3,43 +3,78 @@ package africa.semicolon.controller;
 import africa.semicolon.dto.requests.*;
 import africa.semicolon.dto.responses.*;
 import africa.semicolon.exceptions.FinalBlogExceptions;
+import africa.semicolon.exceptions.ServiceBusyException;
 import africa.semicolon.services.UserServices;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.HttpStatus.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/Blogspot")
 public class UserControllers {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final int NDJSON_FLUSH_INTERVAL = 100;
+    private static final String BEARER_PREFIX = "Bearer ";
+
     @Autowired
     private UserServices userServices;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${blog.posts.http.max-age:PT0S}")
+    private Duration postMaxAge;
 
     @PostMapping("/sign_up")
-    public ResponseEntity<?> register(@RequestBody UserRegisterRequest userRegisterRequest){
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody UserRegisterRequest userRegisterRequest){
         try {
-            UserRegisterResponse response = userServices.register(userRegisterRequest);
-            return new ResponseEntity<>(new UserApiResponse(true, response), CREATED);
+            return userServices.register(userRegisterRequest)
+                    .<ResponseEntity<?>>thenApply(response -> new ResponseEntity<>(new UserApiResponse(true, response), CREATED))
+                    .exceptionally(e -> failed(e, BAD_REQUEST));
         } catch(FinalBlogExceptions e){
-            return new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), BAD_REQUEST);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), BAD_REQUEST));
         }
     }
 
     @PostMapping("/sign_in")
-    public ResponseEntity<?> login(@RequestBody UserLoginRequest userLoginRequest){
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody UserLoginRequest userLoginRequest){
         try {
-            UserLoginResponse response = userServices.login(userLoginRequest);
-            return new ResponseEntity<>(new UserApiResponse(true, response), ACCEPTED);
+            return userServices.login(userLoginRequest)
+                    .<ResponseEntity<?>>thenApply(response -> new ResponseEntity<>(new UserApiResponse(true, response), ACCEPTED))
+                    .exceptionally(e -> failed(e, FORBIDDEN));
         } catch (FinalBlogExceptions e){
-            return new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), FORBIDDEN);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), FORBIDDEN));
         }
     }
 
     @PostMapping("/create_post")
-    public ResponseEntity<?> createPost(@RequestBody CreatePostRequest createPostRequest){
+    public ResponseEntity<?> createPost(@RequestHeader(value = AUTHORIZATION, required = false) String authorization,
+                                        @RequestBody CreatePostRequest createPostRequest){
         try {
+            createPostRequest.setToken(bearerToken(authorization, createPostRequest.getToken()));
             CreatePostResponse response = userServices.createPost(createPostRequest);
             return new ResponseEntity<>(new UserApiResponse(true, response), CREATED);
         } catch (FinalBlogExceptions e){
@@ -48,8 +83,10 @@ public class UserControllers {
     }
 
     @DeleteMapping("/delete_post")
-    public ResponseEntity<?> deletePost(@RequestBody DeletePostRequest deletePostRequest){
+    public ResponseEntity<?> deletePost(@RequestHeader(value = AUTHORIZATION, required = false) String authorization,
+                                        @RequestBody DeletePostRequest deletePostRequest){
         try {
+            deletePostRequest.setToken(bearerToken(authorization, deletePostRequest.getToken()));
             DeletePostResponse response = userServices.deletePost(deletePostRequest);
             return new ResponseEntity<>(new UserApiResponse(true, response), ACCEPTED);
         }catch (FinalBlogExceptions e) {
@@ -58,8 +95,10 @@ public class UserControllers {
     }
 
     @PostMapping("/sign_out")
-    public ResponseEntity<?> logout(@RequestBody UserLogoutRequest userLogoutRequest){
+    public ResponseEntity<?> logout(@RequestHeader(value = AUTHORIZATION, required = false) String authorization,
+                                    @RequestBody UserLogoutRequest userLogoutRequest){
         try {
+            userLogoutRequest.setToken(bearerToken(authorization, userLogoutRequest.getToken()));
             UserLogoutResponse response = userServices.logout(userLogoutRequest);
             return new ResponseEntity<>(new UserApiResponse(true, response), ACCEPTED);
         } catch (FinalBlogExceptions e){
@@ -97,13 +136,141 @@ public class UserControllers {
         }
     }
 
+    @PostMapping("/bulk_import")
+    public ResponseEntity<?> bulkImport(@RequestHeader(value = AUTHORIZATION, required = false) String authorization,
+                                        @RequestBody BulkImportRequest bulkImportRequest){
+        try {
+            bulkImportRequest.setToken(bearerToken(authorization, bulkImportRequest.getToken()));
+            BulkImportResponse response = userServices.bulkImport(bulkImportRequest);
+            return new ResponseEntity<>(new UserApiResponse(true, response), CREATED);
+        } catch (FinalBlogExceptions e){
+            return new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/all_posts")
-    public ResponseEntity<?> viewAllPosts(@RequestBody String username){
+    public ResponseEntity<?> viewAllPosts(@RequestParam("username") String username,
+                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                          @RequestParam(value = "size", defaultValue = "20") int size){
         try {
-            UserPostsResponse response = userServices.getUserPosts(username);
+            UserPostsResponse response = userServices.getUserPosts(username, cursor, size);
             return new ResponseEntity<>(new UserApiResponse(true, response), ACCEPTED);
         } catch (FinalBlogExceptions e){
             return new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), BAD_REQUEST);
         }
     }
+
+    @GetMapping(value = "/all_posts", produces = NDJSON_VALUE)
+    public ResponseEntity<?> streamAllPosts(@RequestParam("username") String username){
+        try {
+            Stream<PostSummary> posts = userServices.streamUserPosts(username);
+            StreamingResponseBody body = outputStream -> writeNdjson(posts, outputStream);
+            return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+        } catch (FinalBlogExceptions e){
+            return ResponseEntity.badRequest().contentType(APPLICATION_JSON).body(new UserApiResponse(false, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/posts/{postId}")
+    public ResponseEntity<?> viewPostById(@PathVariable("postId") String postId, WebRequest webRequest){
+        try {
+            if (webRequest.getHeader(IF_NONE_MATCH) != null) {
+                String eTag = postETag(userServices.getPostVersion(postId));
+                if (webRequest.checkNotModified(eTag)) return ResponseEntity.status(NOT_MODIFIED).cacheControl(postCacheControl()).build();
+            }
+            PostResponse response = userServices.getPost(postId);
+            return ResponseEntity.ok().eTag(postETag(response.getVersion())).cacheControl(postCacheControl())
+                    .body(new UserApiResponse(true, response));
+        } catch (FinalBlogExceptions e){
+            return new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/posts/{postId}/comments")
+    public ResponseEntity<?> viewPostComments(@PathVariable("postId") String postId,
+                                              @RequestParam(value = "cursor", required = false) String cursor,
+                                              @RequestParam(value = "size", defaultValue = "20") int size){
+        try {
+            PostCommentsResponse response = userServices.getPostComments(postId, cursor, size);
+            return new ResponseEntity<>(new UserApiResponse(true, response), OK);
+        } catch (FinalBlogExceptions e){
+            return new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/posts/{postId}/views")
+    public ResponseEntity<?> viewPostStats(@PathVariable("postId") String postId,
+                                           @RequestParam(value = "from", required = false) String from,
+                                           @RequestParam(value = "to", required = false) String to){
+        try {
+            ViewStatsResponse response = userServices.getViewStats(postId, from, to);
+            return new ResponseEntity<>(new UserApiResponse(true, response), OK);
+        } catch (FinalBlogExceptions e){
+            return new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<?> trendingPosts(@RequestParam(value = "limit", defaultValue = "20") int limit){
+        return new ResponseEntity<>(new UserApiResponse(true, userServices.getTrendingPosts(limit)), OK);
+    }
+
+    @GetMapping("/popular_posts")
+    public ResponseEntity<?> popularPosts(@RequestParam(value = "by", defaultValue = "views") String metric,
+                                          @RequestParam(value = "limit", defaultValue = "20") int limit){
+        try {
+            List<PostSummary> response = userServices.getPopularPosts(metric, limit);
+            return new ResponseEntity<>(new UserApiResponse(true, response), OK);
+        } catch (FinalBlogExceptions e){
+            return new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPosts(@RequestParam("q") String query,
+                                         @RequestParam(value = "page", defaultValue = "0") int page,
+                                         @RequestParam(value = "size", defaultValue = "20") int size){
+        try {
+            SearchResponse response = userServices.searchPosts(query, page, size);
+            return new ResponseEntity<>(new UserApiResponse(true, response), OK);
+        } catch (FinalBlogExceptions e){
+            return new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), BAD_REQUEST);
+        }
+    }
+
+    @ExceptionHandler({DataAccessResourceFailureException.class, ServiceBusyException.class})
+    public ResponseEntity<?> serviceUnavailable(RuntimeException e){
+        return new ResponseEntity<>(new UserApiResponse(false, "Service busy, try again later"), SERVICE_UNAVAILABLE);
+    }
+
+    private static ResponseEntity<?> failed(Throwable error, HttpStatus status) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof FinalBlogExceptions e) return new ResponseEntity<>(new UserApiResponse(false, e.getMessage()), status);
+        throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+    }
+
+    private CacheControl postCacheControl() {
+        return CacheControl.maxAge(postMaxAge).cachePublic().mustRevalidate();
+    }
+
+    private static String postETag(long version) {
+        return "\"v" + version + "\"";
+    }
+
+    private static String bearerToken(String authorization, String fallback) {
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) return authorization.substring(BEARER_PREFIX.length());
+        return fallback;
+    }
+
+    private void writeNdjson(Stream<PostSummary> posts, OutputStream outputStream) throws IOException {
+        try (posts) {
+            Iterator<PostSummary> iterator = posts.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+                if (++written % NDJSON_FLUSH_INTERVAL == 0) outputStream.flush();
+            }
+        }
+    }
 }
@@ -0,0 +1,181 @@
+package africa.semicolon.controller.reactive;
+
+import africa.semicolon.dto.requests.*;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.dto.responses.UserApiResponse;
+import africa.semicolon.exceptions.FinalBlogExceptions;
+import africa.semicolon.exceptions.ServiceBusyException;
+import africa.semicolon.services.reactive.ReactiveUserServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpStatus.*;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+@Component
+@Profile("reactive")
+public class BlogHandler {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    @Autowired
+    private ReactiveUserServices userServices;
+    @Value("${blog.posts.http.max-age:PT0S}")
+    private Duration postMaxAge;
+
+    public Mono<ServerResponse> register(ServerRequest request) {
+        return respond(request.bodyToMono(UserRegisterRequest.class).flatMap(userServices::register), CREATED, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> login(ServerRequest request) {
+        return respond(request.bodyToMono(UserLoginRequest.class).flatMap(userServices::login), ACCEPTED, FORBIDDEN);
+    }
+
+    public Mono<ServerResponse> createPost(ServerRequest request) {
+        return respond(request.bodyToMono(CreatePostRequest.class).flatMap(createPostRequest -> {
+            createPostRequest.setToken(bearerToken(request, createPostRequest.getToken()));
+            return userServices.createPost(createPostRequest);
+        }), CREATED, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> deletePost(ServerRequest request) {
+        return respond(request.bodyToMono(DeletePostRequest.class).flatMap(deletePostRequest -> {
+            deletePostRequest.setToken(bearerToken(request, deletePostRequest.getToken()));
+            return userServices.deletePost(deletePostRequest);
+        }), ACCEPTED, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> logout(ServerRequest request) {
+        return respond(request.bodyToMono(UserLogoutRequest.class).flatMap(userLogoutRequest -> {
+            userLogoutRequest.setToken(bearerToken(request, userLogoutRequest.getToken()));
+            return userServices.logout(userLogoutRequest);
+        }), ACCEPTED, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> viewPost(ServerRequest request) {
+        return respond(request.bodyToMono(ViewPostRequest.class).flatMap(userServices::viewPost), OK, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> addComment(ServerRequest request) {
+        return respond(request.bodyToMono(CommentPostRequest.class).flatMap(userServices::addComment), CREATED, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> deleteComment(ServerRequest request) {
+        return respond(request.bodyToMono(DeleteCommentRequest.class).flatMap(userServices::deleteComment), ACCEPTED, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> viewAllPosts(ServerRequest request) {
+        Optional<String> username = request.queryParam("username");
+        Optional<Integer> size = intParam(request, "size", DEFAULT_PAGE_SIZE);
+        if (username.isEmpty() || size.isEmpty()) return ServerResponse.badRequest().build();
+        String cursor = request.queryParam("cursor").orElse(null);
+        return respond(userServices.getUserPosts(username.get(), cursor, size.get()), ACCEPTED, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> streamAllPosts(ServerRequest request) {
+        Optional<String> username = request.queryParam("username");
+        if (username.isEmpty()) return ServerResponse.badRequest().build();
+        return recover(userServices.findUserByName(username.get())
+                .flatMap(user -> ServerResponse.ok()
+                        .contentType(APPLICATION_NDJSON)
+                        .body(userServices.streamUserPosts(user.getUsername()), PostSummary.class)), BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> viewPostById(ServerRequest request) {
+        String postId = request.pathVariable("postId");
+        Mono<ServerResponse> notModified = request.headers().firstHeader(IF_NONE_MATCH) == null ? Mono.empty()
+                : userServices.getPostVersion(postId)
+                        .flatMap(version -> request.checkNotModified(postETag(version)))
+                        .flatMap(response -> ServerResponse.from(response).cacheControl(postCacheControl()).build());
+        return recover(notModified.switchIfEmpty(Mono.defer(() -> userServices.getPost(postId)
+                .flatMap(post -> ServerResponse.ok()
+                        .eTag(postETag(post.getVersion()))
+                        .cacheControl(postCacheControl())
+                        .bodyValue(new UserApiResponse(true, post))))), BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> viewPostComments(ServerRequest request) {
+        Optional<Integer> size = intParam(request, "size", DEFAULT_PAGE_SIZE);
+        if (size.isEmpty()) return ServerResponse.badRequest().build();
+        String cursor = request.queryParam("cursor").orElse(null);
+        return respond(userServices.getPostComments(request.pathVariable("postId"), cursor, size.get()), OK, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> viewPostStats(ServerRequest request) {
+        String from = request.queryParam("from").orElse(null);
+        String to = request.queryParam("to").orElse(null);
+        return respond(userServices.getViewStats(request.pathVariable("postId"), from, to), OK, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> trendingPosts(ServerRequest request) {
+        Optional<Integer> limit = intParam(request, "limit", DEFAULT_PAGE_SIZE);
+        if (limit.isEmpty()) return ServerResponse.badRequest().build();
+        return respond(userServices.getTrendingPosts(limit.get()), OK, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> popularPosts(ServerRequest request) {
+        Optional<Integer> limit = intParam(request, "limit", DEFAULT_PAGE_SIZE);
+        if (limit.isEmpty()) return ServerResponse.badRequest().build();
+        String metric = request.queryParam("by").orElse("views");
+        return respond(userServices.getPopularPosts(metric, limit.get()), OK, BAD_REQUEST);
+    }
+
+    public Mono<ServerResponse> searchPosts(ServerRequest request) {
+        Optional<Integer> page = intParam(request, "page", 0);
+        Optional<Integer> size = intParam(request, "size", DEFAULT_PAGE_SIZE);
+        if (page.isEmpty() || size.isEmpty()) return ServerResponse.badRequest().build();
+        String query = request.queryParam("q").orElse(null);
+        return respond(userServices.searchPosts(query, page.get(), size.get()), OK, BAD_REQUEST);
+    }
+
+    private static Mono<ServerResponse> respond(Mono<?> response, HttpStatus success, HttpStatus failure) {
+        return recover(response.flatMap(body -> ServerResponse.status(success).bodyValue(new UserApiResponse(true, body))), failure);
+    }
+
+    private static Mono<ServerResponse> recover(Mono<ServerResponse> response, HttpStatus failure) {
+        return response
+                .onErrorResume(FinalBlogExceptions.class, e -> failed(failure, e.getMessage()))
+                .onErrorResume(DataAccessResourceFailureException.class, e -> failed(SERVICE_UNAVAILABLE, "Service busy, try again later"))
+                .onErrorResume(ServiceBusyException.class, e -> failed(SERVICE_UNAVAILABLE, "Service busy, try again later"));
+    }
+
+    private static Mono<ServerResponse> failed(HttpStatus status, String message) {
+        return ServerResponse.status(status).bodyValue(new UserApiResponse(false, message));
+    }
+
+    private CacheControl postCacheControl() {
+        return CacheControl.maxAge(postMaxAge).cachePublic().mustRevalidate();
+    }
+
+    private static String postETag(long version) {
+        return "\"v" + version + "\"";
+    }
+
+    private static String bearerToken(ServerRequest request, String fallback) {
+        String authorization = request.headers().firstHeader(AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) return authorization.substring(BEARER_PREFIX.length());
+        return fallback;
+    }
+
+    private static Optional<Integer> intParam(ServerRequest request, String name, int defaultValue) {
+        try {
+            return Optional.of(request.queryParam(name).map(Integer::parseInt).orElse(defaultValue));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
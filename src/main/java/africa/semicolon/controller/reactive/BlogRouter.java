@@ -0,0 +1,42 @@
+package africa.semicolon.controller.reactive;
+
+import africa.semicolon.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.web.reactive.function.server.RequestPredicates.headers;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+@Profile("reactive")
+public class BlogRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> blogRoutes(BlogHandler blogHandler, ObjectProvider<RateLimitFilter> rateLimitFilter) {
+        RouterFunction<ServerResponse> routes = route().path("/api/Blogspot", builder -> builder
+                        .POST("/sign_up", blogHandler::register)
+                        .POST("/sign_in", blogHandler::login)
+                        .POST("/create_post", blogHandler::createPost)
+                        .DELETE("/delete_post", blogHandler::deletePost)
+                        .POST("/sign_out", blogHandler::logout)
+                        .PATCH("/view_post", blogHandler::viewPost)
+                        .PATCH("/add_comment", blogHandler::addComment)
+                        .DELETE("/delete_comment", blogHandler::deleteComment)
+                        .GET("/all_posts", headers(headers -> headers.accept().contains(APPLICATION_NDJSON)), blogHandler::streamAllPosts)
+                        .GET("/all_posts", blogHandler::viewAllPosts)
+                        .GET("/posts/{postId}", blogHandler::viewPostById)
+                        .GET("/posts/{postId}/comments", blogHandler::viewPostComments)
+                        .GET("/posts/{postId}/views", blogHandler::viewPostStats)
+                        .GET("/trending", blogHandler::trendingPosts)
+                        .GET("/popular_posts", blogHandler::popularPosts)
+                        .GET("/search", blogHandler::searchPosts))
+                .build();
+        RateLimitFilter filter = rateLimitFilter.getIfAvailable();
+        return filter == null ? routes : routes.filter(filter);
+    }
+}
@@ -0,0 +1,44 @@
+package africa.semicolon.data.converters;
+
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.dto.responses.PostSummary;
+import org.bson.Document;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Reads the summary projections straight off the raw BSON document. Asking the template for the record type
+ * instead sends every row through the conversion service and reflective property population, which costs
+ * several times the allocation of the record itself.
+ */
+public final class SummaryConverters {
+
+    private SummaryConverters() {
+    }
+
+    public static PostSummary postSummary(Document source) {
+        return new PostSummary(idOf(source), source.getString("title"), source.getString("snippet"),
+                longValue(source.get("viewCount")), (int) longValue(source.get("commentCount")),
+                localDateTime(source.getDate("dateCreated")));
+    }
+
+    public static CommentSummary commentSummary(Document source) {
+        return new CommentSummary(idOf(source), source.getString("commenterName"), source.getString("comment"),
+                localDateTime(source.getDate("timeOfComment")));
+    }
+
+    private static String idOf(Document source) {
+        Object id = source.get("_id");
+        return id == null ? null : id.toString();
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static LocalDateTime localDateTime(Date date) {
+        return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,130 @@
+package africa.semicolon.data.indexes;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates the indexes declared on every {@code @Document} model as soon as the singletons are built, before the
+ * web server, the scheduled jobs and the runners start, then reads them back and refuses to start if one is
+ * missing or differs from its declaration. Indexes on the collections that are not declared are only reported,
+ * since dropping them is an operator decision.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.mongo.indexes.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoIndexes implements SmartInitializingSingleton {
+
+    public static final String COLLECTION_SCAN = "collection-scan";
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexes.class);
+    private static final Set<String> IGNORED_OPTIONS = Set.of("name", "background");
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+    @Autowired
+    MongoMappingContext mappingContext;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> mismatches = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) continue;
+            String collection = entity.getCollection();
+            createIfMissing(entity);
+            List<IndexDefinition> declared = new ArrayList<>();
+            IndexResolver.create(mappingContext).resolveIndexFor(entity.getTypeInformation()).forEach(declared::add);
+            declared.forEach(definition -> ensure(collection, definition));
+            mismatches.addAll(verify(collection, declared));
+        }
+        if (!mismatches.isEmpty()) throw new IllegalStateException("Mongo indexes do not match their declarations: "
+                + String.join("; ", mismatches));
+    }
+
+    private void createIfMissing(MongoPersistentEntity<?> entity) {
+        if (mongoTemplate.collectionExists(entity.getCollection())) return;
+        try {
+            mongoTemplate.createCollection(entity.getType());
+        } catch (DataAccessException e) {
+            if (!mongoTemplate.collectionExists(entity.getCollection())) throw e;
+        }
+    }
+
+    private void ensure(String collection, IndexDefinition definition) {
+        try {
+            mongoTemplate.indexOps(collection).ensureIndex(definition);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException(collection + " holds duplicate values for unique index "
+                    + nameOf(definition) + ", resolve them before starting", e);
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Could not create index " + nameOf(definition) + " on " + collection
+                    + ", an existing index conflicts with its declaration", e);
+        }
+    }
+
+    private List<String> verify(String collection, List<IndexDefinition> declared) {
+        Map<String, Document> existing = new HashMap<>();
+        mongoTemplate.getCollection(collection).listIndexes()
+                .forEach(index -> existing.put(index.getString("name"), index));
+
+        List<String> mismatches = new ArrayList<>();
+        for (IndexDefinition definition : declared) {
+            String name = nameOf(definition);
+            Document actual = existing.remove(name);
+            if (actual == null) mismatches.add(collection + "." + name + " is missing");
+            else if (!matches(definition, actual)) mismatches.add(collection + "." + name + " is " + actual.toJson()
+                    + " but is declared as " + definition.getIndexKeys().toJson() + " " + definition.getIndexOptions().toJson());
+        }
+        existing.remove("_id_");
+        existing.values().removeIf(index -> index.get("key", Document.class).containsKey("_fts"));
+        if (!existing.isEmpty()) log.warn("Undeclared indexes on {}: {}", collection, existing.keySet());
+        return mismatches;
+    }
+
+    static boolean matches(IndexDefinition definition, Document actual) {
+        if (!sameKeys(definition.getIndexKeys(), actual.get("key", Document.class))) return false;
+        for (Map.Entry<String, Object> option : definition.getIndexOptions().entrySet()) {
+            if (IGNORED_OPTIONS.contains(option.getKey())) continue;
+            if (!sameValue(option.getValue(), actual.get(option.getKey()))) return false;
+        }
+        return true;
+    }
+
+    private static boolean sameKeys(Document declared, Document actual) {
+        if (actual == null || declared.size() != actual.size()) return false;
+        List<String> declaredFields = new ArrayList<>(declared.keySet());
+        List<String> actualFields = new ArrayList<>(actual.keySet());
+        if (!declaredFields.equals(actualFields)) return false;
+        return declaredFields.stream().allMatch(field -> sameValue(declared.get(field), actual.get(field)));
+    }
+
+    private static boolean sameValue(Object declared, Object actual) {
+        if (declared instanceof Number number && actual instanceof Number other) return number.doubleValue() == other.doubleValue();
+        if (declared instanceof Document document) {
+            if (!(actual instanceof Document other)) return false;
+            return document.entrySet().stream().allMatch(entry -> sameValue(entry.getValue(), other.get(entry.getKey())));
+        }
+        return declared.equals(actual);
+    }
+
+    private static String nameOf(IndexDefinition definition) {
+        Object name = definition.getIndexOptions().get("name");
+        return name == null ? definition.getIndexKeys().toJson() : name.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package africa.semicolon.data.migrations;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static africa.semicolon.data.indexes.MongoIndexes.COLLECTION_SCAN;
+import static africa.semicolon.data.repositories.PostQueries.LATEST_COMMENTS;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Component
+@ConditionalOnProperty(name = "blog.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class CommentThreadMigration implements ApplicationRunner {
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        nameCommenters();
+        Query legacyPosts = query(where("comments").exists(true)).comment(COLLECTION_SCAN);
+        legacyPosts.fields().include("comments");
+        try (Stream<Document> posts = mongoTemplate.stream(legacyPosts, Document.class, "Posts")) {
+            posts.forEach(this::migrate);
+        }
+    }
+
+    private void nameCommenters() {
+        Query unnamedComments = query(where("commenterName").exists(false)).comment(COLLECTION_SCAN);
+        unnamedComments.fields().include("commenter");
+        Map<Object, String> usernames = new HashMap<>();
+        try (Stream<Document> comments = mongoTemplate.stream(unnamedComments, Document.class, "Comments")) {
+            comments.forEach(comment -> {
+                DBRef commenter = comment.get("commenter", DBRef.class);
+                if (commenter == null) return;
+                String username = usernames.computeIfAbsent(commenter.getId(), this::findUsername);
+                if (username != null) mongoTemplate.getCollection("Comments")
+                        .updateOne(Filters.eq("_id", comment.get("_id")), Updates.set("commenterName", username));
+            });
+        }
+    }
+
+    private String findUsername(Object userId) {
+        Document user = mongoTemplate.getCollection("Users")
+                .find(Filters.eq("_id", userId))
+                .projection(Projections.include("username"))
+                .first();
+        return user == null ? null : user.getString("username");
+    }
+
+    private void migrate(Document post) {
+        Object postId = post.get("_id");
+        String postKey = postId.toString();
+        MongoCollection<Document> comments = mongoTemplate.getCollection("Comments");
+        List<Object> commentIds = post.getList("comments", DBRef.class, List.of()).stream()
+                .map(DBRef::getId)
+                .toList();
+        if (!commentIds.isEmpty()) comments.updateMany(Filters.in("_id", commentIds), Updates.set("postId", postKey));
+
+        List<Document> latestComments = new ArrayList<>();
+        comments.find(Filters.eq("postId", postKey))
+                .sort(Sorts.descending("timeOfComment", "_id"))
+                .limit(LATEST_COMMENTS)
+                .forEach(comment -> latestComments.addFirst(new Document("commentId", comment.get("_id").toString())
+                        .append("commenterName", comment.getString("commenterName"))
+                        .append("comment", comment.getString("comment"))
+                        .append("timeOfComment", comment.get("timeOfComment"))));
+        int commentCount = (int) comments.countDocuments(Filters.eq("postId", postKey));
+        mongoTemplate.getCollection("Posts").updateOne(Filters.eq("_id", postId), Updates.combine(
+                Updates.set("commentCount", commentCount),
+                Updates.set("latestComments", latestComments),
+                Updates.unset("comments")));
+    }
+}
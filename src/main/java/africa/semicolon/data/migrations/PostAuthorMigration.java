@@ -0,0 +1,47 @@
+package africa.semicolon.data.migrations;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static africa.semicolon.data.indexes.MongoIndexes.COLLECTION_SCAN;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Component
+@ConditionalOnProperty(name = "blog.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class PostAuthorMigration implements ApplicationRunner {
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query legacyUsers = query(where("posts").exists(true)).comment(COLLECTION_SCAN);
+        legacyUsers.fields().include("posts");
+        try (Stream<Document> users = mongoTemplate.stream(legacyUsers, Document.class, "Users")) {
+            users.forEach(this::migrate);
+        }
+    }
+
+    private void migrate(Document user) {
+        Object userId = user.get("_id");
+        List<Object> postIds = user.getList("posts", DBRef.class, List.of()).stream()
+                .map(DBRef::getId)
+                .toList();
+        if (!postIds.isEmpty()) mongoTemplate.getCollection("Posts")
+                .updateMany(Filters.in("_id", postIds), Updates.set("authorId", userId.toString()));
+        mongoTemplate.getCollection("Users").updateOne(Filters.eq("_id", userId), Updates.unset("posts"));
+    }
+}
@@ -0,0 +1,55 @@
+package africa.semicolon.data.migrations;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static africa.semicolon.data.indexes.MongoIndexes.COLLECTION_SCAN;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Replaces the DBRef list of views embedded in legacy posts with the viewCount counter, and links every
+ * referenced view back to its post so that {@link ViewBucketMigration}, which runs after this, can fold it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "blog.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class PostViewMigration implements ApplicationRunner {
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query legacyPosts = query(where("views").exists(true)).comment(COLLECTION_SCAN);
+        legacyPosts.fields().include("views");
+        try (Stream<Document> posts = mongoTemplate.stream(legacyPosts, Document.class, "Posts")) {
+            posts.forEach(this::migrate);
+        }
+    }
+
+    private void migrate(Document post) {
+        Object postId = post.get("_id");
+        List<Object> viewIds = post.getList("views", DBRef.class, List.of()).stream()
+                .map(DBRef::getId)
+                .toList();
+        if (!viewIds.isEmpty()) mongoTemplate.getCollection("Views")
+                .updateMany(Filters.in("_id", viewIds), Updates.set("postId", postId.toString()));
+        mongoTemplate.getCollection("Posts").updateOne(Filters.and(Filters.eq("_id", postId), Filters.exists("views")),
+                Updates.combine(Updates.inc("viewCount", (long) viewIds.size()), Updates.unset("views")));
+    }
+}
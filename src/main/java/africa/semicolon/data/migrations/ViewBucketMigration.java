@@ -0,0 +1,137 @@
+package africa.semicolon.data.migrations;
+
+import africa.semicolon.data.models.User;
+import africa.semicolon.data.models.View;
+import africa.semicolon.data.models.ViewBucket;
+import com.mongodb.DBRef;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static africa.semicolon.data.indexes.MongoIndexes.COLLECTION_SCAN;
+import static africa.semicolon.data.repositories.ViewQueries.addViews;
+import static africa.semicolon.data.repositories.ViewQueries.byId;
+import static africa.semicolon.utils.Mapper.viewBucketsMap;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Folds the legacy one-document-per-view collection into hourly view buckets. Each chunk is first claimed by
+ * stamping its views with a chunk id, and every bucket it touches records that id alongside the increment, so a
+ * run that stops between folding a chunk and deleting its views refolds it on restart without counting twice.
+ * Only views linked to a post, which {@link PostViewMigration} does first, are folded; the rest stay where they are.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class ViewBucketMigration implements ApplicationRunner {
+
+    private static final String LEGACY_VIEWS = "Views";
+    private static final String CHUNK = "migrationChunk";
+    private static final String MIGRATED_CHUNKS = "migratedChunks";
+    private static final int CHUNK_SIZE = 1000;
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Logger log = LoggerFactory.getLogger(ViewBucketMigration.class);
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!mongoTemplate.collectionExists(LEGACY_VIEWS)) return;
+        mongoTemplate.getCollection(LEGACY_VIEWS).distinct(CHUNK, String.class).forEach(this::fold);
+
+        Query unclaimed = query(where(CHUNK).exists(false).and("postId").exists(true)).comment(COLLECTION_SCAN);
+        unclaimed.fields().include("_id");
+        List<Object> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<Document> views = mongoTemplate.stream(unclaimed, Document.class, LEGACY_VIEWS)) {
+            views.forEach(view -> {
+                chunk.add(view.get("_id"));
+                if (chunk.size() == CHUNK_SIZE) claimAndFold(chunk);
+            });
+        }
+        if (!chunk.isEmpty()) claimAndFold(chunk);
+
+        long unmapped = mongoTemplate.getCollection(LEGACY_VIEWS).countDocuments();
+        if (unmapped > 0) log.warn("Left {} views in {} that could not be mapped to a post", unmapped, LEGACY_VIEWS);
+        else mongoTemplate.dropCollection(LEGACY_VIEWS);
+    }
+
+    private void claimAndFold(List<Object> ids) {
+        String chunkId = new ObjectId().toHexString();
+        mongoTemplate.getCollection(LEGACY_VIEWS).updateMany(
+                Filters.and(Filters.in("_id", ids), Filters.exists(CHUNK, false)), Updates.set(CHUNK, chunkId));
+        ids.clear();
+        fold(chunkId);
+    }
+
+    private void fold(String chunkId) {
+        List<Document> legacyViews = new ArrayList<>();
+        mongoTemplate.getCollection(LEGACY_VIEWS).find(Filters.eq(CHUNK, chunkId)).comment(COLLECTION_SCAN).into(legacyViews);
+        List<View> views = new ArrayList<>();
+        List<Object> folded = new ArrayList<>();
+        List<Object> unmapped = new ArrayList<>();
+        for (Document legacyView : legacyViews) {
+            View view = viewOf(legacyView);
+            boolean mapped = view.getPostId() != null && view.getTimeOfView() != null;
+            if (mapped) views.add(view);
+            (mapped ? folded : unmapped).add(legacyView.get("_id"));
+        }
+        Collection<ViewBucket> buckets = viewBucketsMap(views);
+        addViewsOnce(buckets, chunkId);
+
+        if (!folded.isEmpty()) mongoTemplate.getCollection(LEGACY_VIEWS).deleteMany(Filters.in("_id", folded));
+        if (!unmapped.isEmpty()) mongoTemplate.getCollection(LEGACY_VIEWS).updateMany(Filters.in("_id", unmapped), Updates.unset(CHUNK));
+        List<String> bucketIds = buckets.stream().map(ViewBucket::getId).toList();
+        if (!bucketIds.isEmpty()) mongoTemplate.updateMulti(query(where("id").in(bucketIds)),
+                new Update().pull(MIGRATED_CHUNKS, chunkId), ViewBucket.class);
+    }
+
+    private void addViewsOnce(Collection<ViewBucket> buckets, String chunkId) {
+        if (buckets.isEmpty()) return;
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ViewBucket.class);
+        buckets.forEach(bucket -> operations.upsert(
+                byId(bucket.getId()).addCriteria(where(MIGRATED_CHUNKS).ne(chunkId)),
+                addViews(bucket).addToSet(MIGRATED_CHUNKS, chunkId)));
+        try {
+            operations.execute();
+        } catch (BulkOperationException e) {
+            // a bucket that already holds this chunk fails its upsert on the _id index and is left as it is
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) throw e;
+        }
+    }
+
+    private static View viewOf(Document legacyView) {
+        View view = new View();
+        view.setPostId(legacyView.getString("postId"));
+        Date timeOfView = legacyView.getDate("timeOfView");
+        view.setTimeOfView(timeOfView == null ? null : LocalDateTime.ofInstant(timeOfView.toInstant(), ZoneId.systemDefault()));
+        DBRef viewer = legacyView.get("viewer", DBRef.class);
+        if (viewer != null) {
+            User user = new User();
+            user.setId(viewer.getId().toString());
+            view.setViewer(user);
+        }
+        return view;
+    }
+}
@@ -2,6 +2,8 @@ package africa.semicolon.data.models;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -9,11 +11,15 @@ import java.time.LocalDateTime;
 
 @Data
 @Document("Comments")
+@CompoundIndex(name = "post_time", def = "{'postId': 1, 'timeOfComment': -1, '_id': -1}")
 public class Comment {
     @Id
     private String id;
+    private String postId;
     @DBRef
     private User commenter;
+    private String commenterName;
     private String comment;
+    @Indexed
     private LocalDateTime timeOfComment = LocalDateTime.now();
 }
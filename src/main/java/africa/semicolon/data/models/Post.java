@@ -2,7 +2,8 @@ package africa.semicolon.data.models;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -11,14 +12,20 @@ import java.util.List;
 
 @Data
 @Document("Posts")
+@CompoundIndexes({
+        @CompoundIndex(name = "author_date", def = "{'authorId': 1, 'dateCreated': -1, '_id': -1}"),
+        @CompoundIndex(name = "views_id", def = "{'viewCount': -1, '_id': -1}"),
+        @CompoundIndex(name = "comments_id", def = "{'commentCount': -1, '_id': -1}")
+})
 public class Post {
     @Id
     private String id;
+    private String authorId;
     private String title;
     private String content;
     private LocalDateTime dateCreated = LocalDateTime.now();
-    @DBRef
-    private List<View> views = new ArrayList<>();
-    @DBRef
-    private List<Comment> comments = new ArrayList<>();
+    private long viewCount;
+    private int commentCount;
+    private List<RecentComment> latestComments = new ArrayList<>();
+    private long version;
 }
@@ -0,0 +1,17 @@
+package africa.semicolon.data.models;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document("PostTombstones")
+public class PostTombstone {
+    @Id
+    private String postId;
+    @Indexed
+    private LocalDateTime deletedAt = LocalDateTime.now();
+}
@@ -0,0 +1,13 @@
+package africa.semicolon.data.models;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class RecentComment {
+    private String commentId;
+    private String commenterName;
+    private String comment;
+    private LocalDateTime timeOfComment;
+}
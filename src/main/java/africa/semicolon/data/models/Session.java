@@ -0,0 +1,21 @@
+package africa.semicolon.data.models;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document("Sessions")
+public class Session {
+    @Id
+    private String token;
+    private String userId;
+    @Indexed
+    private String username;
+    private LocalDateTime createdAt = LocalDateTime.now();
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+}
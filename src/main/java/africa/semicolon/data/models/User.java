@@ -2,24 +2,23 @@ package africa.semicolon.data.models;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Data
-@Document("Users")
+@Document(value = "Users", collation = User.CASE_INSENSITIVE)
 public class User {
-    private boolean isLoggedIn;
+    public static final String CASE_INSENSITIVE = "{ 'locale': 'en', 'strength': 2 }";
+
     private String firstName;
     private String lastName;
+    @Indexed(name = "username_ci", unique = true, collation = CASE_INSENSITIVE)
     private String username;
     private String password;
     @Id
     private String id;
-    @DBRef
-    private List<Post> posts = new ArrayList<>();
     private LocalDateTime dateCreated = LocalDateTime.now();
+    private long version;
 }
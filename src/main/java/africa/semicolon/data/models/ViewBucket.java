@@ -0,0 +1,24 @@
+package africa.semicolon.data.models;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Document("ViewBuckets")
+@CompoundIndex(name = "post_hour", def = "{'postId': 1, 'hour': 1}")
+public class ViewBucket {
+    @Id
+    private String id;
+    private String postId;
+    @Indexed
+    private LocalDateTime hour;
+    private long count;
+    private Map<String, Integer> viewers = new HashMap<>();
+}
@@ -0,0 +1,32 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.utils.PageCursor;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.data.domain.Sort.by;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public final class CommentQueries {
+
+    private CommentQueries() {
+    }
+
+    public static Query byPostAndId(String postId, String commentId) {
+        Query query = query(where("id").is(commentId).and("postId").is(postId));
+        query.fields().exclude("commenter");
+        return query;
+    }
+
+    public static Query page(String postId, PageCursor after, int limit) {
+        Criteria criteria = where("postId").is(postId);
+        if (after != null) criteria.orOperator(
+                where("timeOfComment").lt(after.dateCreated()),
+                where("timeOfComment").is(after.dateCreated()).and("id").lt(after.id()));
+        Query query = query(criteria).with(by(DESC, "timeOfComment", "id")).limit(limit);
+        query.fields().include("commenterName", "comment", "timeOfComment");
+        return query;
+    }
+}
@@ -3,5 +3,5 @@ package africa.semicolon.data.repositories;
 import africa.semicolon.data.models.Comment;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface CommentRepository extends MongoRepository<Comment, String> {
+public interface CommentRepository extends MongoRepository<Comment, String>, CommentRepositoryCustom {
 }
@@ -0,0 +1,22 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.Comment;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.dto.responses.PostScore;
+import africa.semicolon.utils.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface CommentRepositoryCustom {
+    Comment findAndRemove(String postId, String commentId);
+
+    List<CommentSummary> findPage(String postId, PageCursor after, int limit);
+
+    List<PostScore> sumDecayedComments(LocalDateTime since, LocalDateTime until, LocalDateTime landmark, double decayPerSecond);
+
+    long deleteBatchByPostId(String postId, int limit);
+
+    Stream<String> streamPostIds();
+}
@@ -0,0 +1,59 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.Comment;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.dto.responses.PostScore;
+import africa.semicolon.utils.PageCursor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static africa.semicolon.data.converters.SummaryConverters.commentSummary;
+import static africa.semicolon.data.repositories.CommentQueries.byPostAndId;
+import static africa.semicolon.data.repositories.CommentQueries.page;
+import static africa.semicolon.data.repositories.PostQueries.*;
+
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public Comment findAndRemove(String postId, String commentId) {
+        return mongoTemplate.findAndRemove(byPostAndId(postId, commentId), Comment.class);
+    }
+
+    @Override
+    public List<CommentSummary> findPage(String postId, PageCursor after, int limit) {
+        return mongoTemplate.find(page(postId, after, limit), Document.class, "Comments").stream()
+                .map(document -> commentSummary(document))
+                .toList();
+    }
+
+    @Override
+    public List<PostScore> sumDecayedComments(LocalDateTime since, LocalDateTime until, LocalDateTime landmark, double decayPerSecond) {
+        return mongoTemplate.aggregate(decayedScores(Comment.class, "timeOfComment", since, until, landmark, decayPerSecond), PostScore.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public long deleteBatchByPostId(String postId, int limit) {
+        List<Object> ids = mongoTemplate.find(idsByPostId(postId, limit), Document.class, "Comments").stream()
+                .map(document -> document.get("_id"))
+                .toList();
+        if (ids.isEmpty()) return 0;
+        return mongoTemplate.remove(byIds(ids), "Comments").getDeletedCount();
+    }
+
+    @Override
+    public Stream<String> streamPostIds() {
+        return mongoTemplate.aggregateStream(distinctPostIds(), "Comments", Document.class)
+                .map(document -> document.getString("_id"))
+                .filter(Objects::nonNull);
+    }
+}
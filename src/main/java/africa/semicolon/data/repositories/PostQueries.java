@@ -0,0 +1,168 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.RecentComment;
+import africa.semicolon.utils.PageCursor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.aggregation.ArithmeticOperators.Exp.expValueOf;
+import static org.springframework.data.mongodb.core.aggregation.ConvertOperators.ToLong.toLong;
+import static org.springframework.data.mongodb.core.aggregation.StringOperators.valueOf;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public final class PostQueries {
+
+    public static final int LATEST_COMMENTS = 3;
+    private static final int SNIPPET_LENGTH = 140;
+
+    private PostQueries() {
+    }
+
+    public static Query idsByPostId(String postId, int limit) {
+        Query query = query(where("postId").is(postId)).limit(limit);
+        query.fields().include("_id");
+        return query;
+    }
+
+    public static Query byIds(Collection<?> ids) {
+        return query(where("_id").in(ids));
+    }
+
+    public static Aggregation distinctPostIds() {
+        return newAggregation(group("postId"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+    }
+
+    public static Query byIdReturningTitle(String postId) {
+        Query query = query(where("id").is(postId));
+        query.fields().include("title");
+        return query;
+    }
+
+    public static Query versionOf(String postId) {
+        Query query = query(where("id").is(postId));
+        query.fields().include("version");
+        return query;
+    }
+
+    public static Update incrementViews(long count) {
+        return new Update().inc("viewCount", count).inc("version", 1);
+    }
+
+    public static Update pushComment(RecentComment comment) {
+        return pushLatestComments(List.of(comment)).inc("commentCount", 1).inc("version", 1);
+    }
+
+    public static Update pullComment(String commentId) {
+        return new Update().pull("latestComments", new Document("commentId", commentId)).inc("commentCount", -1).inc("version", 1);
+    }
+
+    public static Update pushComments(List<RecentComment> comments) {
+        return pushLatestComments(comments).inc("commentCount", comments.size()).inc("version", 1);
+    }
+
+    private static Update pushLatestComments(List<RecentComment> comments) {
+        return new Update().push("latestComments")
+                .sort(Sort.by("timeOfComment", "commentId"))
+                .slice(-LATEST_COMMENTS)
+                .each(comments.toArray());
+    }
+
+    public static Query searchDocuments() {
+        Query query = new Query();
+        query.fields().include("title", "content");
+        return query;
+    }
+
+    public static TextIndexDefinition textIndex(float titleWeight) {
+        return new TextIndexDefinition.TextIndexDefinitionBuilder()
+                .named("title_content_text")
+                .onField("title", titleWeight)
+                .onField("content")
+                .build();
+    }
+
+    public static TextQuery textSearch(String text) {
+        return TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text));
+    }
+
+    public static TextQuery textSearchPage(String text, long skip, int limit) {
+        TextQuery query = textSearch(text);
+        query.sortByScore().includeScore("score").skip(skip).limit(limit);
+        query.fields().include("title");
+        return query;
+    }
+
+    public static <T> TypedAggregation<T> decayedScores(Class<T> type, String timeField, LocalDateTime since, LocalDateTime until,
+                                                        LocalDateTime landmark, double decayPerSecond) {
+        return decayedScores(type, timeField, null, where(timeField).gte(since).lt(until), landmark, decayPerSecond);
+    }
+
+    public static <T> TypedAggregation<T> decayedScores(Class<T> type, String timeField, String countField, LocalDateTime since,
+                                                        LocalDateTime landmark, double decayPerSecond) {
+        return decayedScores(type, timeField, countField, where(timeField).gte(since), landmark, decayPerSecond);
+    }
+
+    private static <T> TypedAggregation<T> decayedScores(Class<T> type, String timeField, String countField, Criteria range,
+                                                         LocalDateTime landmark, double decayPerSecond) {
+        long landmarkMillis = landmark.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        AggregationExpression secondsSinceLandmark = ArithmeticOperators.valueOf(
+                ArithmeticOperators.valueOf(toLong(timeField)).subtract(landmarkMillis)).divideBy(1000);
+        AggregationExpression decay = expValueOf(ArithmeticOperators.valueOf(secondsSinceLandmark).multiplyBy(decayPerSecond));
+        return newAggregation(type,
+                match(range),
+                group("postId").sum(countField == null ? decay : ArithmeticOperators.valueOf(countField).multiplyBy(decay)).as("score"));
+    }
+
+    public static TypedAggregation<Post> topSummaries(String field, int limit) {
+        return newAggregation(Post.class,
+                sort(DESC, field, "id"),
+                limit(limit),
+                summaryProjection());
+    }
+
+    public static TypedAggregation<Post> summaryPage(String authorId, PageCursor after, int limit) {
+        Criteria criteria = where("authorId").is(authorId);
+        if (after != null) criteria.orOperator(
+                where("dateCreated").lt(after.dateCreated()),
+                where("dateCreated").is(after.dateCreated()).and("id").lt(after.id()));
+        return newAggregation(Post.class,
+                match(criteria),
+                sort(DESC, "dateCreated", "id"),
+                limit(limit),
+                summaryProjection());
+    }
+
+    public static TypedAggregation<Post> summaries(String authorId) {
+        return newAggregation(Post.class,
+                match(where("authorId").is(authorId)),
+                sort(DESC, "dateCreated", "id"),
+                summaryProjection());
+    }
+
+    private static ProjectionOperation summaryProjection() {
+        return project("title", "viewCount", "commentCount", "dateCreated")
+                .and(valueOf("content").substringCP(0, SNIPPET_LENGTH)).as("snippet");
+    }
+}
@@ -3,5 +3,6 @@ package africa.semicolon.data.repositories;
 import africa.semicolon.data.models.Post;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface PostRepository extends MongoRepository<Post, String> {
+public interface PostRepository extends MongoRepository<Post, String>, PostRepositoryCustom {
+    int countByAuthorId(String authorId);
 }
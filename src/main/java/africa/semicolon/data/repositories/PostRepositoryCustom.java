@@ -0,0 +1,36 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.RecentComment;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.utils.PageCursor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface PostRepositoryCustom {
+    void incrementViewCounts(Map<String, Long> viewCounts);
+
+    Post pushComment(String postId, RecentComment comment);
+
+    Post pullComment(String postId, String commentId);
+
+    void pushComments(Map<String, List<RecentComment>> commentsByPost);
+
+    Set<String> findExistingIds(Collection<String> postIds);
+
+    Long findVersion(String postId);
+
+    List<PostSummary> findSummaryPage(String authorId, PageCursor after, int limit);
+
+    Stream<PostSummary> streamSummaries(String authorId);
+
+    List<PostSummary> findTopSummaries(String field, int limit);
+
+    Map<String, String> findTitles(Collection<String> postIds);
+
+    Stream<Post> streamSearchDocuments();
+}
@@ -0,0 +1,113 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.RecentComment;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.utils.PageCursor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static africa.semicolon.data.converters.SummaryConverters.postSummary;
+import static africa.semicolon.data.repositories.PostQueries.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public void incrementViewCounts(Map<String, Long> viewCounts) {
+        if (viewCounts.isEmpty()) return;
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        viewCounts.forEach((postId, count) ->
+                operations.updateOne(query(where("id").is(postId)), incrementViews(count)));
+        operations.execute();
+    }
+
+    @Override
+    public Post pushComment(String postId, RecentComment comment) {
+        return modifyAndReturnTitle(byIdReturningTitle(postId), PostQueries.pushComment(comment));
+    }
+
+    @Override
+    public Post pullComment(String postId, String commentId) {
+        return modifyAndReturnTitle(byIdReturningTitle(postId), PostQueries.pullComment(commentId));
+    }
+
+    @Override
+    public void pushComments(Map<String, List<RecentComment>> commentsByPost) {
+        if (commentsByPost.isEmpty()) return;
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        commentsByPost.forEach((postId, comments) ->
+                operations.updateOne(query(where("id").is(postId)), PostQueries.pushComments(comments)));
+        operations.execute();
+    }
+
+    @Override
+    public Set<String> findExistingIds(Collection<String> postIds) {
+        if (postIds.isEmpty()) return Set.of();
+        Query query = query(where("id").in(postIds));
+        query.fields().include("id");
+        return mongoTemplate.find(query, Post.class).stream()
+                .map(Post::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Long findVersion(String postId) {
+        Post post = mongoTemplate.findOne(versionOf(postId), Post.class);
+        return post == null ? null : post.getVersion();
+    }
+
+    private Post modifyAndReturnTitle(Query query, Update update) {
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Post.class);
+    }
+
+    @Override
+    public List<PostSummary> findSummaryPage(String authorId, PageCursor after, int limit) {
+        return mongoTemplate.aggregate(summaryPage(authorId, after, limit), Document.class).getMappedResults().stream()
+                .map(document -> postSummary(document))
+                .toList();
+    }
+
+    @Override
+    public Stream<PostSummary> streamSummaries(String authorId) {
+        return mongoTemplate.aggregateStream(summaries(authorId), Document.class).map(document -> postSummary(document));
+    }
+
+    @Override
+    public Stream<Post> streamSearchDocuments() {
+        return mongoTemplate.stream(searchDocuments(), Post.class);
+    }
+
+    @Override
+    public List<PostSummary> findTopSummaries(String field, int limit) {
+        return mongoTemplate.aggregate(topSummaries(field, limit), Document.class).getMappedResults().stream()
+                .map(document -> postSummary(document))
+                .toList();
+    }
+
+    @Override
+    public Map<String, String> findTitles(Collection<String> postIds) {
+        if (postIds.isEmpty()) return Map.of();
+        Query query = query(where("id").in(postIds));
+        query.fields().include("title");
+        return mongoTemplate.find(query, Post.class).stream()
+                .collect(Collectors.toMap(Post::getId, post -> Objects.requireNonNullElse(post.getTitle(), "")));
+    }
+}
@@ -0,0 +1,11 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.PostTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface PostTombstoneRepository extends MongoRepository<PostTombstone, String> {
+    List<PostTombstone> findAllByOrderByDeletedAtAsc(Limit limit);
+}
@@ -0,0 +1,10 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.Session;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+
+public interface SessionRepository extends MongoRepository<Session, String> {
+    boolean existsByUsernameAndExpiresAtAfter(String username, LocalDateTime time);
+}
@@ -2,9 +2,20 @@ package africa.semicolon.data.repositories;
 
 import africa.semicolon.data.models.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface UserRepository extends MongoRepository<User, String> {
     boolean existsByUsername(String username);
 
     User findByUsername(String username);
+
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 }, '$inc': { 'version': 1 } }")
+    long updatePassword(String userId, String currentPassword, String newPassword);
 }
@@ -0,0 +1,7 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.ViewBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ViewBucketRepository extends MongoRepository<ViewBucket, String>, ViewBucketRepositoryCustom {
+}
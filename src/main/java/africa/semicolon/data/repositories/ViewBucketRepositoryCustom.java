@@ -0,0 +1,23 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.ViewBucket;
+import africa.semicolon.dto.responses.PostScore;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ViewBucketRepositoryCustom {
+    void addViews(Collection<ViewBucket> views);
+
+    List<ViewBucket> findRange(String postId, LocalDateTime from, LocalDateTime to);
+
+    long sumViews();
+
+    List<PostScore> sumDecayedViews(LocalDateTime since, LocalDateTime landmark, double decayPerSecond);
+
+    long deleteBatchByPostId(String postId, int limit);
+
+    Stream<String> streamPostIds();
+}
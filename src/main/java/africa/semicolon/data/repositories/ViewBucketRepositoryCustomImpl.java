@@ -0,0 +1,67 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.ViewBucket;
+import africa.semicolon.dto.responses.PostScore;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static africa.semicolon.data.repositories.PostQueries.*;
+import static africa.semicolon.data.repositories.ViewQueries.*;
+
+public class ViewBucketRepositoryCustomImpl implements ViewBucketRepositoryCustom {
+
+    private static final String COLLECTION = "ViewBuckets";
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public void addViews(Collection<ViewBucket> views) {
+        if (views.isEmpty()) return;
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ViewBucket.class);
+        views.forEach(bucket -> operations.upsert(byId(bucket.getId()), ViewQueries.addViews(bucket)));
+        operations.execute();
+    }
+
+    @Override
+    public List<ViewBucket> findRange(String postId, LocalDateTime from, LocalDateTime to) {
+        return mongoTemplate.find(range(postId, from, to), ViewBucket.class);
+    }
+
+    @Override
+    public long sumViews() {
+        Document total = mongoTemplate.aggregate(totalViews(), Document.class).getUniqueMappedResult();
+        return total == null ? 0 : ((Number) total.get("total")).longValue();
+    }
+
+    @Override
+    public List<PostScore> sumDecayedViews(LocalDateTime since, LocalDateTime landmark, double decayPerSecond) {
+        return mongoTemplate.aggregate(decayedScores(ViewBucket.class, "hour", "count", since.truncatedTo(ChronoUnit.HOURS), landmark, decayPerSecond), PostScore.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public long deleteBatchByPostId(String postId, int limit) {
+        List<Object> ids = mongoTemplate.find(idsByPostId(postId, limit), Document.class, COLLECTION).stream()
+                .map(document -> document.get("_id"))
+                .toList();
+        if (ids.isEmpty()) return 0;
+        return mongoTemplate.remove(byIds(ids), COLLECTION).getDeletedCount();
+    }
+
+    @Override
+    public Stream<String> streamPostIds() {
+        return mongoTemplate.aggregateStream(distinctPostIds(), COLLECTION, Document.class)
+                .map(document -> document.getString("_id"))
+                .filter(Objects::nonNull);
+    }
+}
@@ -0,0 +1,43 @@
+package africa.semicolon.data.repositories;
+
+import africa.semicolon.data.models.ViewBucket;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public final class ViewQueries {
+
+    private ViewQueries() {
+    }
+
+    public static Query byId(String bucketId) {
+        return query(where("id").is(bucketId));
+    }
+
+    public static Update addViews(ViewBucket views) {
+        Update update = new Update()
+                .setOnInsert("postId", views.getPostId())
+                .setOnInsert("hour", views.getHour())
+                .inc("count", views.getCount());
+        views.getViewers().forEach((register, rank) -> update.max("viewers." + register, rank));
+        return update;
+    }
+
+    public static Query range(String postId, LocalDateTime from, LocalDateTime to) {
+        Query query = query(where("postId").is(postId).and("hour").gte(from.truncatedTo(ChronoUnit.HOURS)).lt(to));
+        query.fields().include("count", "viewers");
+        return query;
+    }
+
+    public static TypedAggregation<ViewBucket> totalViews() {
+        return newAggregation(ViewBucket.class, group().sum("count").as("total"));
+    }
+}
@@ -0,0 +1,7 @@
+package africa.semicolon.data.repositories.reactive;
+
+import africa.semicolon.data.models.Comment;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveCommentRepository extends ReactiveMongoRepository<Comment, String>, ReactiveCommentRepositoryCustom {
+}
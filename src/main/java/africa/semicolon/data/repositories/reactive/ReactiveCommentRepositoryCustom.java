@@ -0,0 +1,13 @@
+package africa.semicolon.data.repositories.reactive;
+
+import africa.semicolon.data.models.Comment;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.utils.PageCursor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCommentRepositoryCustom {
+    Mono<Comment> findAndRemove(String postId, String commentId);
+
+    Flux<CommentSummary> findPage(String postId, PageCursor after, int limit);
+}
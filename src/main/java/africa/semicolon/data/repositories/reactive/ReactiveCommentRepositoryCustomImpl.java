@@ -0,0 +1,31 @@
+package africa.semicolon.data.repositories.reactive;
+
+import africa.semicolon.data.models.Comment;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.utils.PageCursor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static africa.semicolon.data.converters.SummaryConverters.commentSummary;
+import static africa.semicolon.data.repositories.CommentQueries.byPostAndId;
+import static africa.semicolon.data.repositories.CommentQueries.page;
+
+public class ReactiveCommentRepositoryCustomImpl implements ReactiveCommentRepositoryCustom {
+
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
+    // The commenter @DBRef is projected out: the reactive converter cannot resolve it and commenterName is stored inline.
+    @Override
+    public Mono<Comment> findAndRemove(String postId, String commentId) {
+        return reactiveMongoTemplate.findAndRemove(byPostAndId(postId, commentId), Comment.class);
+    }
+
+    @Override
+    public Flux<CommentSummary> findPage(String postId, PageCursor after, int limit) {
+        return reactiveMongoTemplate.find(page(postId, after, limit), Document.class, "Comments").map(document -> commentSummary(document));
+    }
+}
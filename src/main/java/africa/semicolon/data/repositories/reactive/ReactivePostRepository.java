@@ -0,0 +1,7 @@
+package africa.semicolon.data.repositories.reactive;
+
+import africa.semicolon.data.models.Post;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactivePostRepository extends ReactiveMongoRepository<Post, String>, ReactivePostRepositoryCustom {
+}
@@ -0,0 +1,22 @@
+package africa.semicolon.data.repositories.reactive;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.RecentComment;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.utils.PageCursor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactivePostRepositoryCustom {
+    Mono<Post> pushComment(String postId, RecentComment comment);
+
+    Mono<Post> pullComment(String postId, String commentId);
+
+    Mono<Long> findVersion(String postId);
+
+    Flux<PostSummary> findSummaryPage(String authorId, PageCursor after, int limit);
+
+    Flux<PostSummary> streamSummaries(String authorId);
+
+    Flux<PostSummary> findTopSummaries(String field, int limit);
+}
@@ -0,0 +1,58 @@
+package africa.semicolon.data.repositories.reactive;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.RecentComment;
+import africa.semicolon.data.repositories.PostQueries;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.utils.PageCursor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static africa.semicolon.data.converters.SummaryConverters.postSummary;
+import static africa.semicolon.data.repositories.PostQueries.*;
+
+public class ReactivePostRepositoryCustomImpl implements ReactivePostRepositoryCustom {
+
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Post> pushComment(String postId, RecentComment comment) {
+        return modifyAndReturnTitle(byIdReturningTitle(postId), PostQueries.pushComment(comment));
+    }
+
+    @Override
+    public Mono<Post> pullComment(String postId, String commentId) {
+        return modifyAndReturnTitle(byIdReturningTitle(postId), PostQueries.pullComment(commentId));
+    }
+
+    @Override
+    public Mono<Long> findVersion(String postId) {
+        return reactiveMongoTemplate.findOne(versionOf(postId), Post.class).map(Post::getVersion);
+    }
+
+    private Mono<Post> modifyAndReturnTitle(Query query, Update update) {
+        return reactiveMongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Post.class);
+    }
+
+    @Override
+    public Flux<PostSummary> findSummaryPage(String authorId, PageCursor after, int limit) {
+        return reactiveMongoTemplate.aggregate(summaryPage(authorId, after, limit), Document.class).map(document -> postSummary(document));
+    }
+
+    @Override
+    public Flux<PostSummary> streamSummaries(String authorId) {
+        return reactiveMongoTemplate.aggregate(summaries(authorId), Document.class).map(document -> postSummary(document));
+    }
+
+    @Override
+    public Flux<PostSummary> findTopSummaries(String field, int limit) {
+        return reactiveMongoTemplate.aggregate(topSummaries(field, limit), Document.class).map(document -> postSummary(document));
+    }
+}
@@ -0,0 +1,7 @@
+package africa.semicolon.data.repositories.reactive;
+
+import africa.semicolon.data.models.Session;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveSessionRepository extends ReactiveMongoRepository<Session, String> {
+}
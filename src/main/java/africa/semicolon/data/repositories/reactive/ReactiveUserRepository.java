@@ -0,0 +1,17 @@
+package africa.semicolon.data.repositories.reactive;
+
+import africa.semicolon.data.models.User;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.Update;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+    Mono<Boolean> existsByUsername(String username);
+
+    Mono<User> findByUsername(String username);
+
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 }, '$inc': { 'version': 1 } }")
+    Mono<Long> updatePassword(String userId, String currentPassword, String newPassword);
+}
@@ -0,0 +1,15 @@
+package africa.semicolon.dto.requests;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkImportRequest {
+    private String author;
+    private String token;
+    private List<ImportPostRequest> posts = new ArrayList<>();
+    private List<ImportCommentRequest> comments = new ArrayList<>();
+    private List<ImportViewRequest> views = new ArrayList<>();
+}
@@ -6,4 +6,5 @@ import lombok.Data;
 public class DeletePostRequest {
     private String postId;
     private String author;
+    private String token;
 }
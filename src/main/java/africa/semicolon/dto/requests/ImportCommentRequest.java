@@ -0,0 +1,10 @@
+package africa.semicolon.dto.requests;
+
+import lombok.Data;
+
+@Data
+public class ImportCommentRequest {
+    private String postId;
+    private String commenter;
+    private String comment;
+}
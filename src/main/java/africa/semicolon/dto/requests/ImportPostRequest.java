@@ -0,0 +1,12 @@
+package africa.semicolon.dto.requests;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ImportPostRequest {
+    private String title;
+    private String content;
+    private LocalDateTime dateCreated;
+}
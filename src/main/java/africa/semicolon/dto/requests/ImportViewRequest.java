@@ -0,0 +1,9 @@
+package africa.semicolon.dto.requests;
+
+import lombok.Data;
+
+@Data
+public class ImportViewRequest {
+    private String postId;
+    private String viewer;
+}
@@ -5,4 +5,5 @@ import lombok.Data;
 @Data
 public class UserLogoutRequest {
     private String username;
+    private String token;
 }
\ No newline at end of file
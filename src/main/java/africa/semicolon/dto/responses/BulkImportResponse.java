@@ -0,0 +1,12 @@
+package africa.semicolon.dto.responses;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkImportResponse {
+    private List<ImportItemResult> posts;
+    private List<ImportItemResult> comments;
+    private List<ImportItemResult> views;
+}
@@ -0,0 +1,6 @@
+package africa.semicolon.dto.responses;
+
+import java.time.LocalDateTime;
+
+public record CommentSummary(String id, String commenterName, String comment, LocalDateTime timeOfComment) {
+}
@@ -0,0 +1,11 @@
+package africa.semicolon.dto.responses;
+
+import lombok.Data;
+
+@Data
+public class ImportItemResult {
+    private int index;
+    private boolean isSuccessful;
+    private String id;
+    private String message;
+}
@@ -0,0 +1,6 @@
+package africa.semicolon.dto.responses;
+
+import java.util.List;
+
+public record PostCommentsResponse(String postId, List<CommentSummary> comments, String nextCursor) {
+}
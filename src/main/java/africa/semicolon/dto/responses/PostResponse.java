@@ -0,0 +1,20 @@
+package africa.semicolon.dto.responses;
+
+import africa.semicolon.data.models.RecentComment;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class PostResponse {
+    private String id;
+    private String authorId;
+    private String title;
+    private String content;
+    private LocalDateTime dateCreated;
+    private long viewCount;
+    private int commentCount;
+    private List<RecentComment> latestComments;
+    private long version;
+}
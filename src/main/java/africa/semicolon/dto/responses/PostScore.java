@@ -0,0 +1,13 @@
+package africa.semicolon.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostScore {
+    private String id;
+    private double score;
+}
@@ -0,0 +1,7 @@
+package africa.semicolon.dto.responses;
+
+import java.time.LocalDateTime;
+
+public record PostSummary(String id, String title, String snippet, long viewCount, int commentCount,
+                          LocalDateTime dateCreated) {
+}
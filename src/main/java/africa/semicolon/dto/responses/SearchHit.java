@@ -0,0 +1,10 @@
+package africa.semicolon.dto.responses;
+
+import lombok.Data;
+
+@Data
+public class SearchHit {
+    private String postId;
+    private String title;
+    private double score;
+}
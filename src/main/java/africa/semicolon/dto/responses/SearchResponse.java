@@ -0,0 +1,14 @@
+package africa.semicolon.dto.responses;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SearchResponse {
+    private String query;
+    private int page;
+    private int size;
+    private long totalHits;
+    private List<SearchHit> hits;
+}
@@ -0,0 +1,12 @@
+package africa.semicolon.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TrendingPost {
+    private String postId;
+    private String title;
+    private double score;
+}
@@ -6,4 +6,5 @@ import lombok.Data;
 public class UserLoginResponse {
     private String username;
     private String id;
+    private String token;
 }
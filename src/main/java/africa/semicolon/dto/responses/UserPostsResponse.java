@@ -1,12 +1,6 @@
 package africa.semicolon.dto.responses;
 
-import africa.semicolon.data.models.Post;
-import lombok.Data;
-
 import java.util.List;
 
-@Data
-public class UserPostsResponse {
-    private String username;
-    private List<Post> posts;
+public record UserPostsResponse(String username, List<PostSummary> posts, String nextCursor) {
 }
@@ -7,6 +7,6 @@ import java.time.LocalDateTime;
 @Data
 public class ViewPostResponse {
     private String viewerId;
-    private String postTitle;
+    private String postId;
     private String viewerName;
 }
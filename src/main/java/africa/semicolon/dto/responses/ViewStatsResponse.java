@@ -0,0 +1,14 @@
+package africa.semicolon.dto.responses;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ViewStatsResponse {
+    private String postId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long totalViews;
+    private long uniqueViewers;
+}
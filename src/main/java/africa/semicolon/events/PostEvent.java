@@ -0,0 +1,39 @@
+package africa.semicolon.events;
+
+import africa.semicolon.data.models.Post;
+
+/**
+ * A slot in the post event ring. Slots are allocated once up front and overwritten by every publish.
+ */
+public final class PostEvent {
+
+    public enum Type {
+        POST_CREATED, POST_VIEWED, COMMENT_ADDED, POST_DELETED
+    }
+
+    private Type type;
+    private String postId;
+    private Post post;
+
+    void set(Type type, String postId, Post post) {
+        this.type = type;
+        this.postId = postId;
+        this.post = post;
+    }
+
+    void clear() {
+        set(null, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getPostId() {
+        return postId;
+    }
+
+    public Post getPost() {
+        return post;
+    }
+}
@@ -0,0 +1,126 @@
+package africa.semicolon.events;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.services.SearchServices;
+import africa.semicolon.services.TrendingServices;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorThreeArg;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static africa.semicolon.events.PostEvent.Type.*;
+
+/**
+ * Post activity that does not have to finish before a request returns, trending scores and the search index, goes
+ * through a preallocated ring buffer. Each consumer drains whatever queued up since its last pass on its own thread.
+ */
+@Component
+public class PostEvents {
+
+    private static final Logger log = LoggerFactory.getLogger(PostEvents.class);
+    private static final EventTranslatorThreeArg<PostEvent, PostEvent.Type, String, Post> TRANSLATOR =
+            (event, sequence, type, postId, post) -> event.set(type, postId, post);
+
+    private final Disruptor<PostEvent> disruptor;
+    private final RingBuffer<PostEvent> ringBuffer;
+    private final EventHandler<PostEvent> release = (event, sequence, endOfBatch) -> event.clear();
+
+    public PostEvents(@Value("${blog.events.ring-size:16384}") int ringSize,
+                      TrendingServices trendingServices,
+                      SearchServices searchServices,
+                      MeterRegistry meterRegistry) {
+        disruptor = new Disruptor<>(PostEvent::new, ringSize, threadFactory(), ProducerType.MULTI,
+                new BlockingWaitStrategy());
+        disruptor.setDefaultExceptionHandler(new LoggingExceptionHandler());
+        disruptor.handleEventsWith(new TrendingHandler(trendingServices), new SearchHandler(searchServices))
+                .then(release);
+        ringBuffer = disruptor.start();
+        Gauge.builder("blog.events.backlog", ringBuffer, buffer -> buffer.getBufferSize() - buffer.remainingCapacity())
+                .register(meterRegistry);
+    }
+
+    public void postCreated(Post post) {
+        ringBuffer.publishEvent(TRANSLATOR, POST_CREATED, post.getId(), post);
+    }
+
+    public void postViewed(String postId) {
+        ringBuffer.publishEvent(TRANSLATOR, POST_VIEWED, postId, null);
+    }
+
+    public void commentAdded(String postId) {
+        ringBuffer.publishEvent(TRANSLATOR, COMMENT_ADDED, postId, null);
+    }
+
+    public void postDeleted(String postId) {
+        ringBuffer.publishEvent(TRANSLATOR, POST_DELETED, postId, null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        disruptor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "post-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record TrendingHandler(TrendingServices trendingServices) implements EventHandler<PostEvent> {
+        @Override
+        public void onEvent(PostEvent event, long sequence, boolean endOfBatch) {
+            switch (event.getType()) {
+                case POST_VIEWED -> trendingServices.recordView(event.getPostId());
+                case COMMENT_ADDED -> trendingServices.recordComment(event.getPostId());
+                case POST_DELETED -> trendingServices.removePost(event.getPostId());
+                default -> {
+                }
+            }
+        }
+    }
+
+    private record SearchHandler(SearchServices searchServices) implements EventHandler<PostEvent> {
+        @Override
+        public void onEvent(PostEvent event, long sequence, boolean endOfBatch) {
+            switch (event.getType()) {
+                case POST_CREATED -> searchServices.index(event.getPost());
+                case POST_DELETED -> searchServices.remove(event.getPostId());
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static final class LoggingExceptionHandler implements ExceptionHandler<PostEvent> {
+        @Override
+        public void handleEventException(Throwable e, long sequence, PostEvent event) {
+            log.warn("Failed to handle {} for post {}", event.getType(), event.getPostId(), e);
+        }
+
+        @Override
+        public void handleOnStartException(Throwable e) {
+            log.error("Failed to start post event handler", e);
+        }
+
+        @Override
+        public void handleOnShutdownException(Throwable e) {
+            log.error("Failed to stop post event handler", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package africa.semicolon.exceptions;
+
+public class InvalidCommentException extends FinalBlogExceptions{
+    public InvalidCommentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package africa.semicolon.exceptions;
+
+public class InvalidCursorException extends FinalBlogExceptions{
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
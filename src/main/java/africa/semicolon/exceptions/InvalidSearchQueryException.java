@@ -0,0 +1,7 @@
+package africa.semicolon.exceptions;
+
+public class InvalidSearchQueryException extends FinalBlogExceptions{
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package africa.semicolon.exceptions;
+
+public class InvalidSortException extends FinalBlogExceptions{
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
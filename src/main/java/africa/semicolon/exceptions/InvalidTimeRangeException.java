@@ -0,0 +1,7 @@
+package africa.semicolon.exceptions;
+
+public class InvalidTimeRangeException extends FinalBlogExceptions{
+    public InvalidTimeRangeException(String message) {
+        super(message);
+    }
+}
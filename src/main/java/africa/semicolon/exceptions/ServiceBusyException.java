@@ -0,0 +1,7 @@
+package africa.semicolon.exceptions;
+
+public class ServiceBusyException extends RuntimeException{
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
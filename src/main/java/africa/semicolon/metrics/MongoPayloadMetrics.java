@@ -0,0 +1,90 @@
+package africa.semicolon.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.io.BasicOutputBuffer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records the size of the commands sent to and replies received from Mongo, per command and collection.
+ * Replies arrive as raw BSON, so their size is read off the buffer. Commands would have to be encoded again to
+ * be measured, so only one in {@code commandSampleRate} is, and the others count the mean sampled size of their
+ * command towards the request totals. Round trips and latency per collection already come from the
+ * auto-configured mongodb.driver.commands timer.
+ */
+public class MongoPayloadMetrics implements CommandListener {
+
+    public static final String SUMMARY = "mongodb.driver.commands.bytes";
+
+    private final MeterRegistry meterRegistry;
+    private final int commandSampleRate;
+    private final Map<Integer, String> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public MongoPayloadMetrics(MeterRegistry meterRegistry, int commandSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.commandSampleRate = Math.max(1, commandSampleRate);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String collection = collection(event.getCommand(), event.getCommandName());
+        inFlight.put(event.getRequestId(), collection);
+        DistributionSummary sent = summary(event.getCommandName(), collection, "sent");
+        if (sent.count() == 0 || ThreadLocalRandom.current().nextInt(commandSampleRate) == 0) {
+            int bytes = encodedSize(event.getCommand());
+            sent.record(bytes);
+            MongoRequestStats.recordSent(bytes);
+        } else {
+            MongoRequestStats.recordSent((int) sent.mean());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = inFlight.remove(event.getRequestId());
+        if (!(event.getResponse() instanceof RawBsonDocument response)) return;
+        int bytes = response.getByteBuffer().remaining();
+        summary(event.getCommandName(), collection == null ? "unknown" : collection, "received").record(bytes);
+        MongoRequestStats.recordReceived(bytes);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlight.remove(event.getRequestId());
+    }
+
+    private DistributionSummary summary(String command, String collection, String direction) {
+        return summaries.computeIfAbsent(command + '/' + collection + '/' + direction, key -> DistributionSummary.builder(SUMMARY)
+                .baseUnit("bytes")
+                .tag("command", command)
+                .tag("collection", collection)
+                .tag("direction", direction)
+                .register(meterRegistry));
+    }
+
+    private static String collection(BsonDocument command, String commandName) {
+        BsonValue value = command.get("getMore".equals(commandName) ? "collection" : commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "unknown";
+    }
+
+    private static int encodedSize(BsonDocument document) {
+        if (document instanceof RawBsonDocument raw) return raw.getByteBuffer().remaining();
+        BasicOutputBuffer buffer = new BasicOutputBuffer(256);
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            writer.pipe(document.asBsonReader());
+        }
+        return buffer.getPosition();
+    }
+}
@@ -0,0 +1,70 @@
+package africa.semicolon.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the Mongo round trips and bytes of each request. A request that returns a future is recorded when its async
+ * dispatch finishes, so the work done on the executor it handed off to is included.
+ */
+public class MongoRequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final double[] ROUND_TRIP_BUCKETS = {1, 2, 3, 5, 10, 20, 50};
+    private static final String STATS_ATTRIBUTE = MongoRequestMetricsFilter.class.getName() + ".stats";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> roundTrips = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> bytes = new ConcurrentHashMap<>();
+
+    public MongoRequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        MongoRequestStats stats = (MongoRequestStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null) stats = MongoRequestStats.start();
+        else stats.resume();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.finish();
+            if (isAsyncStarted(request)) request.setAttribute(STATS_ATTRIBUTE, stats);
+            else record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, MongoRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+        roundTrips.computeIfAbsent(method + ' ' + uri, key -> DistributionSummary.builder("blog.http.mongo.round.trips")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .serviceLevelObjectives(ROUND_TRIP_BUCKETS)
+                        .register(meterRegistry))
+                .record(stats.getRoundTrips());
+        bytes.computeIfAbsent(method + ' ' + uri, key -> DistributionSummary.builder("blog.http.mongo.bytes")
+                        .baseUnit("bytes")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(meterRegistry))
+                .record(stats.getBytes());
+    }
+}
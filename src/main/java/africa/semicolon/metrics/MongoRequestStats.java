@@ -0,0 +1,73 @@
+package africa.semicolon.metrics;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mongo round trips and payload bytes for the request running on the current thread. The sync driver calls
+ * command listeners on the calling thread, so a thread local is enough to attribute commands to a request, as long as
+ * work the request hands to an executor goes through {@link #propagating(Executor)}.
+ */
+public final class MongoRequestStats {
+
+    private static final ThreadLocal<MongoRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private MongoRequestStats() {
+    }
+
+    public static MongoRequestStats start() {
+        MongoRequestStats stats = new MongoRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Runs the tasks of {@code executor} with the stats of the calling request attached, so the Mongo work they do is
+     * counted towards it. Returns {@code executor} itself when no request is being recorded.
+     */
+    public static Executor propagating(Executor executor) {
+        MongoRequestStats stats = CURRENT.get();
+        if (stats == null) return executor;
+        return task -> executor.execute(() -> {
+            MongoRequestStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                CURRENT.set(previous);
+            }
+        });
+    }
+
+    static void recordSent(int bytes) {
+        MongoRequestStats stats = CURRENT.get();
+        if (stats == null) return;
+        stats.roundTrips.incrementAndGet();
+        stats.bytes.addAndGet(bytes);
+    }
+
+    static void recordReceived(int bytes) {
+        MongoRequestStats stats = CURRENT.get();
+        if (stats != null) stats.bytes.addAndGet(bytes);
+    }
+
+    void resume() {
+        CURRENT.set(this);
+    }
+
+    public void finish() {
+        CURRENT.remove();
+    }
+
+    public int getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+}
@@ -0,0 +1,84 @@
+package africa.semicolon.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Times every call into a service. Mono and Flux results are timed from subscription to completion and
+ * CompletableFuture results until they complete, so the timers show where the time goes, not just assembly.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+
+    public static final String TIMER = "blog.service";
+
+    private final MeterRegistry meterRegistry;
+    private final String service;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsInterceptor(MeterRegistry meterRegistry, String service) {
+        this.meterRegistry = meterRegistry;
+        this.service = service;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) return invocation.proceed();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            record(method, start, e);
+            throw e;
+        }
+        if (result instanceof Mono<?> mono) return Mono.defer(() -> {
+            long subscribed = System.nanoTime();
+            return mono.doOnSuccess(value -> record(method, subscribed, null))
+                    .doOnError(e -> record(method, subscribed, e));
+        });
+        if (result instanceof Flux<?> flux) return Flux.defer(() -> {
+            long subscribed = System.nanoTime();
+            return flux.doOnComplete(() -> record(method, subscribed, null))
+                    .doOnError(e -> record(method, subscribed, e));
+        });
+        if (result instanceof CompletableFuture<?> future) {
+            future.whenComplete((value, e) -> record(method, start, e));
+            return future;
+        }
+        record(method, start, null);
+        return result;
+    }
+
+    private void record(Method method, long start, Throwable error) {
+        Timer timer = error == null
+                ? timers.computeIfAbsent(method, key -> timer(key, "none"))
+                : timer(method, exceptionName(error));
+        timer.record(System.nanoTime() - start, NANOSECONDS);
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(TIMER)
+                .tag("service", service)
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private static String exceptionName(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) error = error.getCause();
+        return error.getClass().getSimpleName();
+    }
+}
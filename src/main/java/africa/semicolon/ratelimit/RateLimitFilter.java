@@ -0,0 +1,43 @@
+package africa.semicolon.ratelimit;
+
+import africa.semicolon.dto.responses.UserApiResponse;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+import static africa.semicolon.ratelimit.RateLimitResponses.*;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+public class RateLimitFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private static final String UNKNOWN_ADDRESS = "unknown";
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String endpoint = request.attribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE)
+                .map(Object::toString)
+                .orElseGet(() -> request.path());
+        String address = request.remoteAddress()
+                .map(InetSocketAddress::getHostString)
+                .orElse(UNKNOWN_ADDRESS);
+        long wait = rateLimiter.tryAcquire(endpoint, isWrite(request.method()),
+                bearerToken(request.headers().firstHeader(AUTHORIZATION)), address);
+        if (wait == 0) return next.handle(request);
+        return ServerResponse.status(TOO_MANY_REQUESTS)
+                .header(RETRY_AFTER, retryAfterSeconds(wait))
+                .bodyValue(new UserApiResponse(false, TOO_MANY_REQUESTS_MESSAGE));
+    }
+}
@@ -0,0 +1,46 @@
+package africa.semicolon.ratelimit;
+
+import africa.semicolon.dto.responses.UserApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static africa.semicolon.ratelimit.RateLimitResponses.*;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+// Runs after handler mapping so the bucket is keyed by the route pattern, not by every distinct post id.
+// The async dispatch that writes a CompletableFuture result belongs to a request that already paid its token.
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) return true;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern == null ? request.getRequestURI() : pattern.toString();
+        long wait = rateLimiter.tryAcquire(endpoint, isWrite(HttpMethod.valueOf(request.getMethod())),
+                bearerToken(request.getHeader(AUTHORIZATION)), request.getRemoteAddr());
+        if (wait == 0) return true;
+        response.setStatus(TOO_MANY_REQUESTS.value());
+        response.setHeader(RETRY_AFTER, retryAfterSeconds(wait));
+        response.setContentType(APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new UserApiResponse(false, TOO_MANY_REQUESTS_MESSAGE));
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package africa.semicolon.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+final class RateLimitResponses {
+
+    static final String TOO_MANY_REQUESTS_MESSAGE = "Too many requests, try again later";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private RateLimitResponses() {
+    }
+
+    static boolean isWrite(HttpMethod method) {
+        return !HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method);
+    }
+
+    static String bearerToken(String authorization) {
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) return authorization.substring(BEARER_PREFIX.length());
+        return null;
+    }
+
+    static String retryAfterSeconds(long waitNanos) {
+        return String.valueOf((waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+}
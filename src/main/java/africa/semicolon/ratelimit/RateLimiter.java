@@ -0,0 +1,65 @@
+package africa.semicolon.ratelimit;
+
+import africa.semicolon.data.models.Session;
+import africa.semicolon.utils.TokenBucket;
+import africa.semicolon.utils.TokenBucket.Limit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * One token bucket per client and endpoint. A client is the username of a cached session when the request
+ * carries a bearer token, otherwise its address: usernames in request bodies are whatever the caller claims,
+ * and resolving an unknown token against Mongo here would hand out a free round trip before the limit applies.
+ * Idle buckets are swept on a schedule rather than by expire-after-access, which would read the clock and
+ * reorder the cache on every request.
+ */
+public class RateLimiter {
+
+    private final Cache<String, Session> sessionCache;
+    private final Limit readLimit;
+    private final Limit writeLimit;
+    private final long idleNanos;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimiter(Cache<String, Session> sessionCache, Limit readLimit, Limit writeLimit,
+                       long maximumBuckets, Duration idleTimeout) {
+        this.sessionCache = sessionCache;
+        this.readLimit = readLimit;
+        this.writeLimit = writeLimit;
+        this.idleNanos = idleTimeout.toNanos();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumBuckets)
+                .build();
+    }
+
+    /**
+     * @return 0 when the request may proceed, otherwise the nanoseconds until the client's next token
+     */
+    public long tryAcquire(String endpoint, boolean write, String token, String address) {
+        BucketKey key = new BucketKey(endpoint, clientOf(token, address));
+        TokenBucket bucket = buckets.get(key, ignored -> new TokenBucket());
+        return bucket.tryAcquire(System.nanoTime(), write ? writeLimit : readLimit);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.asMap().values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    public long trackedBuckets() {
+        return buckets.estimatedSize();
+    }
+
+    private String clientOf(String token, String address) {
+        if (token == null) return address;
+        Session session = sessionCache.getIfPresent(token);
+        return session == null ? address : session.getUsername();
+    }
+
+    private record BucketKey(String endpoint, String client) {
+    }
+}
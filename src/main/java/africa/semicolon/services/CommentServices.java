@@ -3,13 +3,23 @@ package africa.semicolon.services;
 import africa.semicolon.data.models.Comment;
 import africa.semicolon.dto.requests.CommentPostRequest;
 import africa.semicolon.dto.requests.DeleteCommentRequest;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.utils.PageCursor;
+
+import java.util.List;
 
 public interface CommentServices {
     Comment saveComment(CommentPostRequest commentPostRequest);
 
+    void saveComments(List<Comment> comments);
+
     long countNoOfViews();
 
     Comment findCommentById(String id);
 
     Comment removeComment(DeleteCommentRequest deleteCommentRequest);
+
+    void removeComment(Comment comment);
+
+    List<CommentSummary> findCommentPage(String postId, PageCursor after, int limit);
 }
@@ -1,15 +1,16 @@
 package africa.semicolon.services;
 
 import africa.semicolon.data.models.Comment;
-import africa.semicolon.data.models.Post;
 import africa.semicolon.data.repositories.CommentRepository;
 import africa.semicolon.dto.requests.CommentPostRequest;
 import africa.semicolon.dto.requests.DeleteCommentRequest;
+import africa.semicolon.dto.responses.CommentSummary;
 import africa.semicolon.exceptions.CommentNotFoundException;
-import africa.semicolon.exceptions.PostNotFoundException;
+import africa.semicolon.utils.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 import static africa.semicolon.utils.Mapper.requestMap;
@@ -26,6 +27,11 @@ public class CommentServicesImpl implements CommentServices{
         return comment;
     }
 
+    @Override
+    public void saveComments(List<Comment> comments) {
+        commentRepository.insert(comments);
+    }
+
     @Override
     public long countNoOfViews() {
         return commentRepository.count();
@@ -40,8 +46,18 @@ public class CommentServicesImpl implements CommentServices{
 
     @Override
     public Comment removeComment(DeleteCommentRequest deleteCommentRequest) {
-        Comment comment = findCommentById(deleteCommentRequest.getCommentId());
-        commentRepository.delete(comment);
+        Comment comment = commentRepository.findAndRemove(deleteCommentRequest.getPostId(), deleteCommentRequest.getCommentId());
+        if (comment == null) throw new CommentNotFoundException("Comment not found");
         return comment;
     }
+
+    @Override
+    public void removeComment(Comment comment) {
+        commentRepository.delete(comment);
+    }
+
+    @Override
+    public List<CommentSummary> findCommentPage(String postId, PageCursor after, int limit) {
+        return commentRepository.findPage(postId, after, limit);
+    }
 }
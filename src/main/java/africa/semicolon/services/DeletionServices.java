@@ -0,0 +1,9 @@
+package africa.semicolon.services;
+
+public interface DeletionServices {
+    void schedulePostDeletion(String postId);
+
+    long reclaimDeletedPosts();
+
+    int sweepOrphans();
+}
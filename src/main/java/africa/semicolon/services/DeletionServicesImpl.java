@@ -0,0 +1,108 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.models.PostTombstone;
+import africa.semicolon.data.repositories.CommentRepository;
+import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.data.repositories.PostTombstoneRepository;
+import africa.semicolon.data.repositories.ViewBucketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToLongBiFunction;
+import java.util.stream.Stream;
+
+import static africa.semicolon.config.SchedulingConfig.DELETION_SCHEDULER;
+
+/**
+ * A deleted post leaves a tombstone behind. Its views and comments are removed afterwards in id-bounded
+ * deleteMany batches, a fixed number of non-empty batches per run, so reclaiming a popular post never competes
+ * with foreground traffic for long. The tombstone goes once nothing is left.
+ */
+@Service
+public class DeletionServicesImpl implements DeletionServices{
+
+    @Autowired
+    PostTombstoneRepository tombstoneRepository;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    ViewBucketRepository viewBucketRepository;
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Value("${blog.deletes.batch-size:500}")
+    int batchSize;
+    @Value("${blog.deletes.max-batches-per-run:4}")
+    int maxBatchesPerRun;
+
+    @Override
+    public void schedulePostDeletion(String postId) {
+        tombstoneRepository.save(tombstone(postId));
+    }
+
+    @Override
+    @Scheduled(scheduler = DELETION_SCHEDULER, fixedDelayString = "${blog.deletes.reclaim-interval-ms:1000}")
+    public long reclaimDeletedPosts() {
+        List<ToLongBiFunction<String, Integer>> children = List.of(
+                viewBucketRepository::deleteBatchByPostId, commentRepository::deleteBatchByPostId);
+        int batches = 0;
+        long deleted = 0;
+        for (PostTombstone tombstone : tombstoneRepository.findAllByOrderByDeletedAtAsc(Limit.of(maxBatchesPerRun))) {
+            for (ToLongBiFunction<String, Integer> deleteBatch : children) {
+                long removed;
+                do {
+                    if (batches == maxBatchesPerRun) return deleted;
+                    removed = deleteBatch.applyAsLong(tombstone.getPostId(), batchSize);
+                    if (removed > 0) batches++;
+                    deleted += removed;
+                } while (removed == batchSize);
+            }
+            tombstoneRepository.delete(tombstone);
+        }
+        return deleted;
+    }
+
+    @Override
+    @Scheduled(scheduler = DELETION_SCHEDULER, initialDelayString = "${blog.deletes.sweep-initial-delay-ms:300000}",
+            fixedDelayString = "${blog.deletes.sweep-interval-ms:86400000}")
+    public int sweepOrphans() {
+        return sweep(viewBucketRepository.streamPostIds()) + sweep(commentRepository.streamPostIds());
+    }
+
+    private int sweep(Stream<String> postIds) {
+        int orphans = 0;
+        try (postIds) {
+            List<String> batch = new ArrayList<>(batchSize);
+            for (Iterator<String> iterator = postIds.iterator(); iterator.hasNext(); ) {
+                batch.add(iterator.next());
+                if (batch.size() < batchSize && iterator.hasNext()) continue;
+                orphans += tombstoneMissing(batch);
+                batch.clear();
+            }
+        }
+        return orphans;
+    }
+
+    private int tombstoneMissing(List<String> postIds) {
+        Set<String> existing = postRepository.findExistingIds(postIds);
+        List<PostTombstone> tombstones = postIds.stream()
+                .filter(postId -> !existing.contains(postId))
+                .map(DeletionServicesImpl::tombstone)
+                .toList();
+        tombstoneRepository.saveAll(tombstones);
+        return tombstones.size();
+    }
+
+    private static PostTombstone tombstone(String postId) {
+        PostTombstone tombstone = new PostTombstone();
+        tombstone.setPostId(postId);
+        return tombstone;
+    }
+}
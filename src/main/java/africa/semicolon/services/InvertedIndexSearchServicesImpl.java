@@ -0,0 +1,67 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.dto.responses.SearchHit;
+import africa.semicolon.dto.responses.SearchResponse;
+import africa.semicolon.exceptions.InvalidSearchQueryException;
+import africa.semicolon.utils.InvertedIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static africa.semicolon.utils.Mapper.searchHitMap;
+import static africa.semicolon.utils.Mapper.searchResponseMap;
+
+@Service
+@ConditionalOnProperty(name = "blog.search.backend", havingValue = "memory", matchIfMissing = true)
+public class InvertedIndexSearchServicesImpl implements SearchServices, ApplicationRunner {
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Value("${blog.search.rebuild-on-startup:true}")
+    boolean rebuildOnStartup;
+
+    private final InvertedIndex index;
+
+    public InvertedIndexSearchServicesImpl(@Value("${blog.search.bm25.k1:1.2}") double k1,
+                                           @Value("${blog.search.bm25.b:0.75}") double b,
+                                           @Value("${blog.search.title-weight:3}") int titleWeight) {
+        index = new InvertedIndex(k1, b, titleWeight);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!rebuildOnStartup) return;
+        try (Stream<Post> posts = postRepository.streamSearchDocuments()) {
+            posts.forEach(this::index);
+        }
+    }
+
+    @Override
+    public void index(Post post) {
+        index.put(post.getId(), post.getTitle(), post.getContent());
+    }
+
+    @Override
+    public void remove(String postId) {
+        index.remove(postId);
+    }
+
+    @Override
+    public SearchResponse search(String query, int page, int size) {
+        if (query == null || query.isBlank()) throw new InvalidSearchQueryException("Search query is required");
+        InvertedIndex.Result result = index.search(query, (int) Math.min((long) page * size, Integer.MAX_VALUE), size);
+        List<SearchHit> hits = result.hits().stream()
+                .map(hit -> searchHitMap(hit.id(), hit.title(), hit.score()))
+                .toList();
+        return searchResponseMap(query, page, size, result.totalHits(), hits);
+    }
+}
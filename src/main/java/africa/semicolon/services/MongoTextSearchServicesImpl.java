@@ -0,0 +1,54 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.dto.responses.SearchHit;
+import africa.semicolon.dto.responses.SearchResponse;
+import africa.semicolon.exceptions.InvalidSearchQueryException;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+import static africa.semicolon.data.repositories.PostQueries.*;
+import static africa.semicolon.utils.Mapper.searchHitMap;
+import static africa.semicolon.utils.Mapper.searchResponseMap;
+
+@Service
+@ConditionalOnProperty(name = "blog.search.backend", havingValue = "mongo")
+public class MongoTextSearchServicesImpl implements SearchServices, ApplicationRunner {
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Value("${blog.search.title-weight:3}")
+    int titleWeight;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        mongoTemplate.indexOps(Post.class).ensureIndex(textIndex(titleWeight));
+    }
+
+    @Override
+    public void index(Post post) {
+    }
+
+    @Override
+    public void remove(String postId) {
+    }
+
+    @Override
+    public SearchResponse search(String query, int page, int size) {
+        if (query == null || query.isBlank()) throw new InvalidSearchQueryException("Search query is required");
+        long totalHits = mongoTemplate.count(textSearch(query), Post.class);
+        List<SearchHit> hits = mongoTemplate.find(textSearchPage(query, (long) page * size, size), Document.class, "Posts").stream()
+                .map(post -> searchHitMap(String.valueOf(post.get("_id")), post.getString("title"), post.getDouble("score")))
+                .toList();
+        return searchResponseMap(query, page, size, totalHits, hits);
+    }
+}
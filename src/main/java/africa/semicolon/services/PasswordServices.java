@@ -0,0 +1,11 @@
+package africa.semicolon.services;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PasswordServices {
+    CompletableFuture<String> hash(String password);
+
+    CompletableFuture<Boolean> matches(String password, String storedPassword);
+
+    boolean needsRehash(String storedPassword);
+}
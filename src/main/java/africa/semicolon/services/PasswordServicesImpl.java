@@ -0,0 +1,84 @@
+package africa.semicolon.services;
+
+import africa.semicolon.exceptions.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Hashes and checks passwords on a small dedicated pool so that a burst of logins queues up here instead of
+ * occupying every request thread. Once the queue is full new work is rejected straight away.
+ */
+@Service
+public class PasswordServicesImpl implements PasswordServices{
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+
+    private final int strength;
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordServicesImpl(@Value("${blog.passwords.bcrypt-strength:10}") int strength,
+                                @Value("${blog.passwords.pool-size:2}") int poolSize,
+                                @Value("${blog.passwords.queue-capacity:64}") int queueCapacity,
+                                MeterRegistry meterRegistry) {
+        this.strength = strength;
+        encoder = new BCryptPasswordEncoder(strength);
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwords");
+    }
+
+    @Override
+    public CompletableFuture<String> hash(String password) {
+        return submit(() -> encoder.encode(password));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> matches(String password, String storedPassword) {
+        if (password == null || storedPassword == null) return CompletableFuture.completedFuture(false);
+        if (!BCRYPT.matcher(storedPassword).matches()) return CompletableFuture.completedFuture(MessageDigest.isEqual(
+                password.getBytes(StandardCharsets.UTF_8), storedPassword.getBytes(StandardCharsets.UTF_8)));
+        return submit(() -> encoder.matches(password, storedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String storedPassword) {
+        var matcher = BCRYPT.matcher(storedPassword);
+        return !matcher.matches() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Too many logins in progress, try again later");
+        }
+    }
+}
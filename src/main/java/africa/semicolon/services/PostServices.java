@@ -1,18 +1,41 @@
 package africa.semicolon.services;
 
 import africa.semicolon.data.models.Post;
-import africa.semicolon.dto.requests.CommentPostRequest;
-import africa.semicolon.dto.requests.DeleteCommentRequest;
-import africa.semicolon.dto.requests.ViewPostRequest;
+import africa.semicolon.data.models.User;
+import africa.semicolon.dto.requests.*;
 import africa.semicolon.dto.responses.CommentPostResponse;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.dto.responses.ImportItemResult;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.dto.responses.TrendingPost;
 import africa.semicolon.dto.responses.ViewPostResponse;
+import africa.semicolon.dto.responses.ViewStatsResponse;
+import africa.semicolon.utils.PageCursor;
+import africa.semicolon.utils.TimeRange;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface PostServices {
     void addPost(Post post);
     Long countNoOfPosts();
     void deletePost(Post post);
     Post findPostById(String postId);
+
+    long findPostVersion(String postId);
+    int countNoOfPostsBy(String authorId);
+    List<PostSummary> findPostSummaryPage(String authorId, PageCursor after, int limit);
+    List<CommentSummary> findCommentPage(String postId, PageCursor after, int limit);
+
+    ViewStatsResponse findViewStats(String postId, TimeRange range);
+    Stream<PostSummary> streamPostSummaries(String authorId);
+    List<PostSummary> findPopularPosts(String metric, int limit);
+    List<TrendingPost> findTrendingPosts(int limit);
     ViewPostResponse addView(ViewPostRequest viewPostRequest);
     CommentPostResponse addComment(CommentPostRequest commentPostRequest);
     CommentPostResponse deleteComment(DeleteCommentRequest deleteCommentRequest);
+    List<ImportItemResult> importPosts(String authorId, List<ImportPostRequest> importPostRequests);
+    List<ImportItemResult> importComments(List<ImportCommentRequest> importCommentRequests, Map<String, User> commenters);
+    List<ImportItemResult> importViews(List<ImportViewRequest> importViewRequests, Map<String, User> viewers);
 }
@@ -2,35 +2,60 @@ package africa.semicolon.services;
 
 import africa.semicolon.data.models.Comment;
 import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.RecentComment;
+import africa.semicolon.data.models.User;
 import africa.semicolon.data.models.View;
 import africa.semicolon.data.repositories.PostRepository;
-import africa.semicolon.dto.requests.CommentPostRequest;
-import africa.semicolon.dto.requests.DeleteCommentRequest;
-import africa.semicolon.dto.requests.ViewPostRequest;
+import africa.semicolon.dto.requests.*;
 import africa.semicolon.dto.responses.CommentPostResponse;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.dto.responses.ImportItemResult;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.dto.responses.TrendingPost;
 import africa.semicolon.dto.responses.ViewPostResponse;
+import africa.semicolon.dto.responses.ViewStatsResponse;
+import africa.semicolon.events.PostEvents;
+import africa.semicolon.exceptions.CommentNotFoundException;
+import africa.semicolon.exceptions.InvalidSortException;
 import africa.semicolon.exceptions.PostNotFoundException;
+import africa.semicolon.utils.PageCursor;
+import africa.semicolon.utils.TimeRange;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static africa.semicolon.utils.Mapper.commentPostResponseMap;
-import static africa.semicolon.utils.Mapper.viewPostResponseMap;
+import static africa.semicolon.utils.Mapper.*;
 
 @Service
 public class PostServicesImpl implements PostServices{
 
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
     @Autowired
     PostRepository postRepository;
     @Autowired
     ViewServices viewServices;
     @Autowired
     CommentServices commentServices;
+    @Autowired
+    TrendingServices trendingServices;
+    @Autowired
+    DeletionServices deletionServices;
+    @Autowired
+    PostEvents postEvents;
+    @Autowired
+    LoadingCache<String, Post> postCache;
 
     @Override
     public void addPost(Post post) {
         postRepository.save(post);
+        postEvents.postCreated(post);
     }
 
     @Override
@@ -41,39 +66,190 @@ public class PostServicesImpl implements PostServices{
     @Override
     public void deletePost(Post post) {
         postRepository.delete(post);
+        postCache.invalidate(post.getId());
+        deletionServices.schedulePostDeletion(post.getId());
+        postEvents.postDeleted(post.getId());
     }
 
     @Override
     public Post findPostById(String postId) {
-        Optional<Post> post = postRepository.findById(postId);
-        if (post.isEmpty()) throw new PostNotFoundException("Post not found");
-        return post.get();
+        Post post = postCache.get(postId);
+        if (post == null) throw new PostNotFoundException("Post not found");
+        return post;
+    }
+
+    @Override
+    public long findPostVersion(String postId) {
+        Long version = postRepository.findVersion(postId);
+        if (version == null) throw new PostNotFoundException("Post not found");
+        return version;
+    }
+
+    @Override
+    public int countNoOfPostsBy(String authorId) {
+        return postRepository.countByAuthorId(authorId);
+    }
+
+    @Override
+    public List<PostSummary> findPostSummaryPage(String authorId, PageCursor after, int limit) {
+        return postRepository.findSummaryPage(authorId, after, limit);
+    }
+
+    @Override
+    public List<CommentSummary> findCommentPage(String postId, PageCursor after, int limit) {
+        if (!postExists(postId)) throw new PostNotFoundException("Post not found");
+        return commentServices.findCommentPage(postId, after, limit);
+    }
+
+    @Override
+    public ViewStatsResponse findViewStats(String postId, TimeRange range) {
+        if (!postExists(postId)) throw new PostNotFoundException("Post not found");
+        return viewServices.findViewStats(postId, range);
+    }
+
+    @Override
+    public Stream<PostSummary> streamPostSummaries(String authorId) {
+        return postRepository.streamSummaries(authorId);
+    }
+
+    @Override
+    public List<PostSummary> findPopularPosts(String metric, int limit) {
+        String field = switch (metric) {
+            case "views" -> "viewCount";
+            case "comments" -> "commentCount";
+            default -> throw new InvalidSortException("Unknown popularity metric " + metric);
+        };
+        return postRepository.findTopSummaries(field, limit);
+    }
+
+    @Override
+    public List<TrendingPost> findTrendingPosts(int limit) {
+        return trendingServices.topTrending(limit);
     }
 
     @Override
     public ViewPostResponse addView(ViewPostRequest viewPostRequest) {
-        Post post = findPostById(viewPostRequest.getPostId());
+        if (!postExists(viewPostRequest.getPostId())) throw new PostNotFoundException("Post not found");
         View view = viewServices.saveView(viewPostRequest);
-        post.getViews().add(view);
-        Post newPost = postRepository.save(post);
-        return viewPostResponseMap(newPost, view);
+        if (!view.isRepeat()) postEvents.postViewed(view.getPostId());
+        return viewPostResponseMap(view);
     }
 
     @Override
     public CommentPostResponse addComment(CommentPostRequest commentPostRequest) {
-        Post post = findPostById(commentPostRequest.getPostId());
         Comment comment = commentServices.saveComment(commentPostRequest);
-        post.getComments().add(comment);
-        Post newPost = postRepository.save(post);
-        return commentPostResponseMap(newPost, comment);
+        Post post = postRepository.pushComment(commentPostRequest.getPostId(), recentCommentMap(comment));
+        if (post == null) {
+            commentServices.removeComment(comment);
+            throw new PostNotFoundException("Post not found");
+        }
+        postCache.invalidate(post.getId());
+        postEvents.commentAdded(post.getId());
+        return commentPostResponseMap(post, comment);
     }
 
     @Override
     public CommentPostResponse deleteComment(DeleteCommentRequest deleteCommentRequest) {
-        Post post = findPostById(deleteCommentRequest.getPostId());
-        Comment comment = commentServices.removeComment(deleteCommentRequest);
-        post.getComments().remove(comment);
-        Post newPost = postRepository.save(post);
-        return commentPostResponseMap(newPost, comment);
+        Comment comment;
+        try {
+            comment = commentServices.removeComment(deleteCommentRequest);
+        } catch (CommentNotFoundException e) {
+            if (!postExists(deleteCommentRequest.getPostId())) throw new PostNotFoundException("Post not found");
+            throw e;
+        }
+        Post post = postRepository.pullComment(deleteCommentRequest.getPostId(), comment.getId());
+        if (post == null) throw new PostNotFoundException("Post not found");
+        postCache.invalidate(post.getId());
+        return commentPostResponseMap(post, comment);
+    }
+
+    @Override
+    public List<ImportItemResult> importPosts(String authorId, List<ImportPostRequest> importPostRequests) {
+        List<ImportItemResult> results = new ArrayList<>(importPostRequests.size());
+        List<Post> posts = new ArrayList<>(importPostRequests.size());
+        for (int index = 0; index < importPostRequests.size(); index++) {
+            ImportPostRequest importPostRequest = importPostRequests.get(index);
+            if (importPostRequest.getTitle() == null || importPostRequest.getTitle().isBlank()) {
+                results.add(importFailed(index, "Post title is required"));
+                continue;
+            }
+            Post post = requestMap(importPostRequest);
+            post.setId(new ObjectId().toHexString());
+            post.setAuthorId(authorId);
+            posts.add(post);
+            results.add(importSucceeded(index, post.getId()));
+        }
+        inBatches(posts, postRepository::insert);
+        posts.forEach(postEvents::postCreated);
+        return results;
+    }
+
+    @Override
+    public List<ImportItemResult> importComments(List<ImportCommentRequest> importCommentRequests, Map<String, User> commenters) {
+        Set<String> existingPosts = postRepository.findExistingIds(postIdsOf(importCommentRequests.stream().map(ImportCommentRequest::getPostId)));
+        List<ImportItemResult> results = new ArrayList<>(importCommentRequests.size());
+        List<Comment> comments = new ArrayList<>(importCommentRequests.size());
+        Map<String, List<RecentComment>> commentsByPost = new HashMap<>();
+        for (int index = 0; index < importCommentRequests.size(); index++) {
+            ImportCommentRequest importCommentRequest = importCommentRequests.get(index);
+            User commenter = findImportUser(commenters, importCommentRequest.getCommenter());
+            if (commenter == null) {
+                results.add(importFailed(index, importCommentRequest.getCommenter() + " does not exist"));
+            } else if (!existingPosts.contains(importCommentRequest.getPostId())) {
+                results.add(importFailed(index, "Post not found"));
+            } else {
+                Comment comment = requestMap(importCommentRequest, commenter);
+                comment.setId(new ObjectId().toHexString());
+                comments.add(comment);
+                commentsByPost.computeIfAbsent(comment.getPostId(), postId -> new ArrayList<>()).add(recentCommentMap(comment));
+                results.add(importSucceeded(index, comment.getId()));
+            }
+        }
+        inBatches(comments, commentServices::saveComments);
+        postRepository.pushComments(commentsByPost);
+        postCache.invalidateAll(commentsByPost.keySet());
+        return results;
+    }
+
+    @Override
+    public List<ImportItemResult> importViews(List<ImportViewRequest> importViewRequests, Map<String, User> viewers) {
+        Set<String> existingPosts = postRepository.findExistingIds(postIdsOf(importViewRequests.stream().map(ImportViewRequest::getPostId)));
+        List<ImportItemResult> results = new ArrayList<>(importViewRequests.size());
+        List<View> views = new ArrayList<>(importViewRequests.size());
+        for (int index = 0; index < importViewRequests.size(); index++) {
+            ImportViewRequest importViewRequest = importViewRequests.get(index);
+            User viewer = findImportUser(viewers, importViewRequest.getViewer());
+            if (viewer == null) {
+                results.add(importFailed(index, importViewRequest.getViewer() + " does not exist"));
+            } else if (!existingPosts.contains(importViewRequest.getPostId())) {
+                results.add(importFailed(index, "Post not found"));
+            } else {
+                View view = requestMap(importViewRequest, viewer);
+                view.setId(new ObjectId().toHexString());
+                views.add(view);
+                results.add(importSucceeded(index, view.getId()));
+            }
+        }
+        inBatches(views, viewServices::saveViews);
+        return results;
+    }
+
+    private static User findImportUser(Map<String, User> users, String username) {
+        if (username == null) return null;
+        return users.get(username.toLowerCase());
+    }
+
+    private static Set<String> postIdsOf(Stream<String> postIds) {
+        return postIds.filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <T> void inBatches(List<T> items, Consumer<List<T>> writer) {
+        for (int start = 0; start < items.size(); start += IMPORT_BATCH_SIZE) {
+            writer.accept(items.subList(start, Math.min(start + IMPORT_BATCH_SIZE, items.size())));
+        }
+    }
+
+    private boolean postExists(String postId) {
+        return postCache.getIfPresent(postId) != null || postRepository.existsById(postId);
     }
 }
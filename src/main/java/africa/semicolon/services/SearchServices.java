@@ -0,0 +1,10 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.dto.responses.SearchResponse;
+
+public interface SearchServices {
+    void index(Post post);
+    void remove(String postId);
+    SearchResponse search(String query, int page, int size);
+}
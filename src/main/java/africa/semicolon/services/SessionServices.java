@@ -0,0 +1,14 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.models.Session;
+import africa.semicolon.data.models.User;
+
+public interface SessionServices {
+    Session createSession(User user);
+
+    Session findActiveSession(String token);
+
+    void endSession(String token);
+
+    boolean hasActiveSession(String username);
+}
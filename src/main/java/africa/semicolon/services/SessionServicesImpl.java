@@ -0,0 +1,71 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.models.Session;
+import africa.semicolon.data.models.User;
+import africa.semicolon.data.repositories.SessionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+@Service
+public class SessionServicesImpl implements SessionServices{
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    SessionRepository sessionRepository;
+    @Autowired
+    Cache<String, Session> sessionCache;
+
+    @Value("${blog.sessions.ttl:PT12H}")
+    Duration sessionTtl;
+
+    @Override
+    public Session createSession(User user) {
+        Session session = new Session();
+        session.setToken(newToken());
+        session.setUserId(user.getId());
+        session.setUsername(user.getUsername());
+        session.setExpiresAt(session.getCreatedAt().plus(sessionTtl));
+        sessionRepository.save(session);
+        sessionCache.put(session.getToken(), session);
+        return session;
+    }
+
+    @Override
+    public Session findActiveSession(String token) {
+        if (token == null) return null;
+        Session session = sessionCache.get(token, key -> sessionRepository.findById(key).orElse(null));
+        if (session == null) return null;
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            sessionCache.invalidate(token);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void endSession(String token) {
+        sessionCache.invalidate(token);
+        sessionRepository.deleteById(token);
+    }
+
+    @Override
+    public boolean hasActiveSession(String username) {
+        return sessionRepository.existsByUsernameAndExpiresAtAfter(username.toLowerCase(), LocalDateTime.now());
+    }
+
+    private String newToken() {
+        byte[] token = new byte[TOKEN_BYTES];
+        random.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+}
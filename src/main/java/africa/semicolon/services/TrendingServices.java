@@ -0,0 +1,14 @@
+package africa.semicolon.services;
+
+import africa.semicolon.dto.responses.TrendingPost;
+
+import java.util.List;
+
+public interface TrendingServices {
+    void recordView(String postId);
+    void recordComment(String postId);
+    void removePost(String postId);
+    List<TrendingPost> topTrending(int limit);
+    void refresh();
+    void reconcile();
+}
@@ -0,0 +1,255 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.repositories.CommentRepository;
+import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.data.repositories.ViewBucketRepository;
+import africa.semicolon.dto.responses.PostScore;
+import africa.semicolon.dto.responses.TrendingPost;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+/**
+ * Forward-decayed trending scores: every event adds {@code weight * e^(λ(t - landmark))}, so scores never
+ * need touching as time passes and the score "now" is the stored sum times {@code e^(-λ(now - landmark))}.
+ * Readers get an immutable top-K snapshot rebuilt in the background. Events hold the landmark lock for reading
+ * so the landmark cannot move between computing an increment and adding it.
+ */
+@Service
+public class TrendingServicesImpl implements TrendingServices{
+
+    private static final double MAX_EXPONENT = 50;
+
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    ViewBucketRepository viewBucketRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    ViewServices viewServices;
+
+    @Value("${blog.trending.view-weight:1}")
+    double viewWeight;
+    @Value("${blog.trending.comment-weight:5}")
+    double commentWeight;
+    @Value("${blog.trending.size:100}")
+    int size;
+    @Value("${blog.trending.max-tracked:100000}")
+    int maxTracked;
+    @Value("${blog.trending.min-score:0.05}")
+    double minScore;
+    @Value("${blog.trending.reconcile-window:P2D}")
+    Duration reconcileWindow;
+
+    private final Map<String, Score> scores = new ConcurrentHashMap<>();
+    private final Map<String, String> titles = new ConcurrentHashMap<>();
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    private final StampedLock landmarkLock = new StampedLock();
+    private final double decayPerSecond;
+    private volatile long landmarkMillis = System.currentTimeMillis();
+    private volatile List<TrendingPost> snapshot = List.of();
+
+    public TrendingServicesImpl(@Value("${blog.trending.half-life:PT6H}") Duration halfLife) {
+        decayPerSecond = Math.log(2) / halfLife.toSeconds();
+    }
+
+    @Override
+    public void recordView(String postId) {
+        record(postId, viewWeight, score -> score.views);
+    }
+
+    @Override
+    public void recordComment(String postId) {
+        record(postId, commentWeight, score -> score.comments);
+    }
+
+    private void record(String postId, double weight, Function<Score, DoubleAdder> component) {
+        long stamp = landmarkLock.readLock();
+        try {
+            component.apply(score(postId)).add(weight * growth(System.currentTimeMillis()));
+        } finally {
+            landmarkLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void removePost(String postId) {
+        scores.remove(postId);
+        titles.remove(postId);
+        List<TrendingPost> current = snapshot;
+        if (current.stream().anyMatch(post -> post.getPostId().equals(postId))) {
+            snapshot = current.stream().filter(post -> !post.getPostId().equals(postId)).toList();
+        }
+    }
+
+    @Override
+    public List<TrendingPost> topTrending(int limit) {
+        List<TrendingPost> current = snapshot;
+        return limit >= current.size() ? current : current.subList(0, Math.max(limit, 0));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${blog.trending.refresh-interval-ms:1000}")
+    public void refresh() {
+        maintenanceLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (decayPerSecond * (now - landmarkMillis) / 1000 > MAX_EXPONENT) moveLandmark(now);
+            double decay = 1 / growth(now);
+
+            PriorityQueue<Map.Entry<String, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            scores.entrySet().removeIf(entry -> {
+                double current = entry.getValue().total() * decay;
+                if (current < minScore) return true;
+                top.add(Map.entry(entry.getKey(), current));
+                if (top.size() > size) top.poll();
+                return false;
+            });
+            if (scores.size() > maxTracked) evictLowest(decay);
+
+            List<Map.Entry<String, Double>> ranked = new ArrayList<>(top);
+            ranked.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+            loadMissingTitles(ranked);
+            titles.keySet().retainAll(ranked.stream().map(Map.Entry::getKey).toList());
+
+            snapshot = ranked.stream()
+                    .filter(entry -> titles.containsKey(entry.getKey()))
+                    .map(entry -> new TrendingPost(entry.getKey(), titles.get(entry.getKey()), entry.getValue()))
+                    .toList();
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${blog.trending.reconcile-initial-delay-ms:0}",
+            fixedDelayString = "${blog.trending.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        maintenanceLock.lock();
+        try {
+            LocalDateTime since = LocalDateTime.now().minus(reconcileWindow);
+            LocalDateTime landmark = LocalDateTime.ofInstant(Instant.ofEpochMilli(landmarkMillis), ZoneId.systemDefault());
+            // no flush can run between the cut and the bucket read, so the buckets hold no view recorded after the cut
+            Cut cut = viewServices.flushViewsThen(() -> {
+                Cut taken = cut();
+                taken.views = viewBucketRepository.sumDecayedViews(since, landmark, decayPerSecond);
+                return taken;
+            });
+            List<PostScore> comments = commentRepository.sumDecayedComments(since, cut.time, landmark, decayPerSecond);
+
+            long stamp = landmarkLock.writeLock();
+            try {
+                replaceScores(cut.views, viewWeight, cut.viewsAtCut, score -> score.views);
+                replaceScores(comments, commentWeight, cut.commentsAtCut, score -> score.comments);
+            } finally {
+                landmarkLock.unlockWrite(stamp);
+            }
+        } finally {
+            maintenanceLock.unlock();
+        }
+        refresh();
+    }
+
+    private Cut cut() {
+        long stamp = landmarkLock.writeLock();
+        try {
+            Cut cut = new Cut(LocalDateTime.now());
+            scores.forEach((postId, score) -> {
+                cut.viewsAtCut.put(postId, score.views.sum());
+                cut.commentsAtCut.put(postId, score.comments.sum());
+            });
+            return cut;
+        } finally {
+            landmarkLock.unlockWrite(stamp);
+        }
+    }
+
+    // the database sums stop at the cut, so events recorded after it are carried over onto the reconciled score
+    private void replaceScores(List<PostScore> postScores, double weight, Map<String, Double> atCut,
+                               Function<Score, DoubleAdder> component) {
+        Map<String, Double> reconciled = new HashMap<>();
+        for (PostScore postScore : postScores) reconciled.put(postScore.getId(), weight * postScore.getScore());
+        scores.keySet().forEach(postId -> reconciled.putIfAbsent(postId, 0.0));
+        reconciled.forEach((postId, reconciledScore) -> {
+            DoubleAdder adder = component.apply(score(postId));
+            double sinceCut = Math.max(0, adder.sumThenReset() - atCut.getOrDefault(postId, 0.0));
+            adder.add(reconciledScore + sinceCut);
+        });
+    }
+
+    private Score score(String postId) {
+        return scores.computeIfAbsent(postId, key -> new Score());
+    }
+
+    private double growth(long timeMillis) {
+        return Math.exp(decayPerSecond * (timeMillis - landmarkMillis) / 1000);
+    }
+
+    private void moveLandmark(long now) {
+        long stamp = landmarkLock.writeLock();
+        try {
+            double rescale = 1 / growth(now);
+            landmarkMillis = now;
+            scores.values().forEach(score -> score.rescale(rescale));
+        } finally {
+            landmarkLock.unlockWrite(stamp);
+        }
+    }
+
+    private void evictLowest(double decay) {
+        double[] totals = scores.values().stream().mapToDouble(score -> score.total() * decay).sorted().toArray();
+        double threshold = totals[totals.length - maxTracked];
+        scores.values().removeIf(score -> score.total() * decay < threshold);
+    }
+
+    private void loadMissingTitles(List<Map.Entry<String, Double>> ranked) {
+        List<String> missing = ranked.stream()
+                .map(Map.Entry::getKey)
+                .filter(postId -> !titles.containsKey(postId))
+                .toList();
+        if (missing.isEmpty()) return;
+        Map<String, String> found = postRepository.findTitles(missing);
+        titles.putAll(found);
+        missing.stream().filter(postId -> !found.containsKey(postId)).forEach(scores::remove);
+    }
+
+    private static final class Cut {
+        private final LocalDateTime time;
+        private final Map<String, Double> viewsAtCut = new HashMap<>();
+        private final Map<String, Double> commentsAtCut = new HashMap<>();
+        private List<PostScore> views = List.of();
+
+        Cut(LocalDateTime time) {
+            this.time = time;
+        }
+    }
+
+    private static final class Score {
+        private final DoubleAdder views = new DoubleAdder();
+        private final DoubleAdder comments = new DoubleAdder();
+
+        double total() {
+            return views.sum() + comments.sum();
+        }
+
+        void rescale(double factor) {
+            double scaledViews = views.sumThenReset() * factor;
+            double scaledComments = comments.sumThenReset() * factor;
+            views.add(scaledViews);
+            comments.add(scaledComments);
+        }
+    }
+}
@@ -4,18 +4,34 @@ import africa.semicolon.data.models.User;
 import africa.semicolon.dto.requests.*;
 import africa.semicolon.dto.responses.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
 public interface UserServices {
-    UserRegisterResponse register(UserRegisterRequest userRegisterRequest);
+    CompletableFuture<UserRegisterResponse> register(UserRegisterRequest userRegisterRequest);
     Long countNoOfUsers();
     CreatePostResponse createPost(CreatePostRequest createPostRequest);
-    UserLoginResponse login(UserLoginRequest userLoginRequest);
+    CompletableFuture<UserLoginResponse> login(UserLoginRequest userLoginRequest);
     boolean isUserLoggedIn(String username);
     int getNoOfUserPosts(String username);
     UserLogoutResponse logout(UserLogoutRequest userLogoutRequest);
     User findUserByName(String username);
     DeletePostResponse deletePost(DeletePostRequest deletePostRequest);
-    UserPostsResponse getUserPosts(String username);
+    UserPostsResponse getUserPosts(String username, String cursor, int size);
+    Stream<PostSummary> streamUserPosts(String username);
+    PostResponse getPost(String postId);
+
+    long getPostVersion(String postId);
+
+    PostCommentsResponse getPostComments(String postId, String cursor, int size);
+
+    ViewStatsResponse getViewStats(String postId, String from, String to);
+    List<PostSummary> getPopularPosts(String metric, int limit);
+    List<TrendingPost> getTrendingPosts(int limit);
+    SearchResponse searchPosts(String query, int page, int size);
     ViewPostResponse viewPost(ViewPostRequest viewPostRequest);
     CommentPostResponse addComment(CommentPostRequest commentPostRequest);
     CommentPostResponse deleteComment(DeleteCommentRequest deleteCommentREquest);
+    BulkImportResponse bulkImport(BulkImportRequest bulkImportRequest);
 }
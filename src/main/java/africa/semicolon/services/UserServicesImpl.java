@@ -1,39 +1,78 @@
 package africa.semicolon.services;
 
 import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.Session;
 import africa.semicolon.data.models.User;
 import africa.semicolon.data.repositories.UserRepository;
 import africa.semicolon.dto.requests.*;
 import africa.semicolon.dto.responses.*;
 import africa.semicolon.exceptions.InvalidPasswordException;
+import africa.semicolon.exceptions.ServiceBusyException;
 import africa.semicolon.exceptions.UserAlreadyExistException;
 import africa.semicolon.exceptions.UserNotFoundException;
 import africa.semicolon.exceptions.UserNotLoggedInException;
+import africa.semicolon.metrics.MongoRequestStats;
+import africa.semicolon.utils.PageCursor;
+import africa.semicolon.utils.TimeRange;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static africa.semicolon.utils.Mapper.*;
+import static java.util.Objects.requireNonNullElse;
 
 @Service
 public class UserServicesImpl implements UserServices{
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Logger log = LoggerFactory.getLogger(UserServicesImpl.class);
+    private static final Executor CREDENTIAL_WRITER = Executors.newVirtualThreadPerTaskExecutor();
+
     @Autowired
     UserRepository userRepository;
 
     @Autowired
     PostServices postServices;
 
+    @Autowired
+    SessionServices sessionServices;
+
+    @Autowired
+    SearchServices searchServices;
+
+    @Autowired
+    PasswordServices passwordServices;
+
+    @Autowired
+    Cache<String, User> userCache;
+
     @Override
-    public UserRegisterResponse register(UserRegisterRequest userRegisterRequest) {
+    public CompletableFuture<UserRegisterResponse> register(UserRegisterRequest userRegisterRequest) {
         validateUsername(userRegisterRequest.getUsername());
 
         User newUser = requestMap(userRegisterRequest);
-        userRepository.save(newUser);
-
-
-        return responseMap(newUser);
+        return passwordServices.hash(userRegisterRequest.getPassword()).thenApplyAsync(password -> {
+            newUser.setPassword(password);
+            try {
+                userRepository.save(newUser);
+            } catch (DuplicateKeyException e) {
+                throw new UserAlreadyExistException(userRegisterRequest.getUsername() + " already exist");
+            }
+            evictUser(newUser.getUsername());
+            return responseMap(newUser);
+        }, MongoRequestStats.propagating(CREDENTIAL_WRITER));
     }
 
     @Override
@@ -43,35 +82,76 @@ public class UserServicesImpl implements UserServices{
 
     @Override
         public CreatePostResponse createPost(CreatePostRequest createPostRequest) {
-            User foundUser = findUserByName(createPostRequest.getAuthor());
-            if(!foundUser.isLoggedIn()) throw new UserNotLoggedInException("You need to log in to create post");
-
-
+            Session session = authenticate(createPostRequest.getToken(), createPostRequest.getAuthor(), "You need to log in to create post");
 
             Post post = requestMap(createPostRequest);
+            post.setAuthorId(session.getUserId());
             postServices.addPost(post);
-            foundUser.getPosts().add(post);
-            userRepository.save(foundUser);
             return createPostResponseMap(post);
         }
         @Override
         public DeletePostResponse deletePost(DeletePostRequest deletePostRequest) {
-            User foundUser = findUserByName(deletePostRequest.getAuthor());
-
-            if (!foundUser.isLoggedIn()) throw new UserNotLoggedInException("You need to log in to delete post");;
+            Session session = authenticate(deletePostRequest.getToken(), deletePostRequest.getAuthor(), "You need to log in to delete post");
 
             Post post = postServices.findPostById(deletePostRequest.getPostId());
+            if (!session.getUserId().equals(post.getAuthorId())) throw new UserNotLoggedInException("You can only delete your own posts");
             postServices.deletePost(post);
-            foundUser.getPosts().remove(post);
-            userRepository.save(foundUser);
             return deletePostResponseMap(post);
         }
 
     @Override
-    public UserPostsResponse getUserPosts(String username) {
+    public UserPostsResponse getUserPosts(String username, String cursor, int size) {
+        User user = findUserByName(username);
+        int pageSize = pageSize(size);
+        List<PostSummary> posts = postServices.findPostSummaryPage(user.getId(), PageCursor.decode(cursor), pageSize + 1);
+        return allPostResponseMap(user.getUsername(), posts, pageSize);
+    }
+
+    @Override
+    public PostResponse getPost(String postId) {
+        return postResponseMap(postServices.findPostById(postId));
+    }
+
+    @Override
+    public long getPostVersion(String postId) {
+        return postServices.findPostVersion(postId);
+    }
+
+    @Override
+    public PostCommentsResponse getPostComments(String postId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        List<CommentSummary> comments = postServices.findCommentPage(postId, PageCursor.decode(cursor), pageSize + 1);
+        return postCommentsResponseMap(postId, comments, pageSize);
+    }
+
+    @Override
+    public ViewStatsResponse getViewStats(String postId, String from, String to) {
+        return postServices.findViewStats(postId, TimeRange.parse(from, to));
+    }
+
+    @Override
+    public Stream<PostSummary> streamUserPosts(String username) {
         User user = findUserByName(username);
-        List<Post> posts = user.getPosts();
-        return allPostResponseMap(user, posts);
+        return postServices.streamPostSummaries(user.getId());
+    }
+
+    @Override
+    public List<PostSummary> getPopularPosts(String metric, int limit) {
+        return postServices.findPopularPosts(metric, pageSize(limit));
+    }
+
+    @Override
+    public List<TrendingPost> getTrendingPosts(int limit) {
+        return postServices.findTrendingPosts(pageSize(limit));
+    }
+
+    @Override
+    public SearchResponse searchPosts(String query, int page, int size) {
+        return searchServices.search(query, Math.max(page, 0), pageSize(size));
+    }
+
+    private static int pageSize(int size) {
+        return size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
     }
 
     @Override
@@ -90,46 +170,96 @@ public class UserServicesImpl implements UserServices{
     }
 
     @Override
-    public UserLoginResponse login(UserLoginRequest userLoginRequest) {
-        User user = findUserByName(userLoginRequest.getUsername().toLowerCase());
-        validatePassword(userLoginRequest);
-        user.setLoggedIn(true);
-        userRepository.save(user);
-        return loginResponseMap(user);
+    public BulkImportResponse bulkImport(BulkImportRequest bulkImportRequest) {
+        Session session = authenticate(bulkImportRequest.getToken(), bulkImportRequest.getAuthor(), "You need to log in to import content");
+        List<ImportPostRequest> posts = requireNonNullElse(bulkImportRequest.getPosts(), List.of());
+        List<ImportCommentRequest> comments = requireNonNullElse(bulkImportRequest.getComments(), List.of());
+        List<ImportViewRequest> views = requireNonNullElse(bulkImportRequest.getViews(), List.of());
+
+        Map<String, User> users = findUsersByName(Stream.concat(
+                comments.stream().map(ImportCommentRequest::getCommenter),
+                views.stream().map(ImportViewRequest::getViewer)));
+
+        BulkImportResponse response = new BulkImportResponse();
+        response.setPosts(postServices.importPosts(session.getUserId(), posts));
+        response.setComments(postServices.importComments(comments, users));
+        response.setViews(postServices.importViews(views, users));
+        return response;
+    }
+
+    private Map<String, User> findUsersByName(Stream<String> usernames) {
+        Set<String> names = usernames.filter(Objects::nonNull).map(String::toLowerCase).collect(Collectors.toSet());
+        if (names.isEmpty()) return new HashMap<>();
+        return userRepository.findByUsernameIn(names).stream()
+                .collect(Collectors.toMap(User::getUsername, Function.identity()));
+    }
+
+    @Override
+    public CompletableFuture<UserLoginResponse> login(UserLoginRequest userLoginRequest) {
+        User user = findUserByName(userLoginRequest.getUsername());
+        String password = userLoginRequest.getPassword();
+        return passwordServices.matches(password, user.getPassword()).thenApplyAsync(matched -> {
+            validatePassword(user, password, matched);
+            Session session = sessionServices.createSession(user);
+            return loginResponseMap(user, session);
+        }, MongoRequestStats.propagating(CREDENTIAL_WRITER));
     }
 
     @Override
     public UserLogoutResponse logout(UserLogoutRequest userLogoutRequest) {
-        User user = findUserByName(userLogoutRequest.getUsername());
-        user.setLoggedIn(false);
-        userRepository.save(user);
-        return logoutResponseMap(user);
+        Session session = authenticate(userLogoutRequest.getToken(), userLogoutRequest.getUsername(), "You are not logged in");
+        sessionServices.endSession(session.getToken());
+        return logoutResponseMap(session);
     }
 
-    private void validatePassword(UserLoginRequest userLoginRequest) {
-        User user = findUserByName(userLoginRequest.getUsername());
-        if(!user.getPassword().equals(userLoginRequest.getPassword())) throw new InvalidPasswordException("Wrong password");
+    private void validatePassword(User user, String password, boolean matched) {
+        if(!matched) throw new InvalidPasswordException("Wrong password");
+        if (passwordServices.needsRehash(user.getPassword())) rehashPassword(user, password);
+    }
+
+    private void rehashPassword(User user, String password) {
+        String currentPassword = user.getPassword();
+        try {
+            passwordServices.hash(password).thenAcceptAsync(newPassword -> {
+                if (userRepository.updatePassword(user.getId(), currentPassword, newPassword) > 0) evictUser(user.getUsername());
+            }, CREDENTIAL_WRITER).whenComplete((ignored, e) -> {
+                if (e != null) log.warn("Could not upgrade the password hash of {}, retrying on the next login", user.getUsername(), e);
+            });
+        } catch (ServiceBusyException e) {
+            // the upgrade is retried on the next login
+        }
+    }
+
+    private Session authenticate(String token, String username, String message) {
+        Session session = sessionServices.findActiveSession(token);
+        boolean sameUser = session != null && username != null && session.getUsername().equals(username.toLowerCase());
+        if (!sameUser) throw new UserNotLoggedInException(message);
+        return session;
     }
 
 
     @Override
     public boolean isUserLoggedIn(String username) {
-        User user = findUserByName(username.toLowerCase());
-        return user.isLoggedIn();
+        findUserByName(username);
+        return sessionServices.hasActiveSession(username);
     }
 
     @Override
     public int getNoOfUserPosts(String username) {
         User user = findUserByName(username.toLowerCase());
-        return user.getPosts().size();
+        return postServices.countNoOfPostsBy(user.getId());
     }
 
     public User findUserByName(String username) {
-        User user = userRepository.findByUsername(username.toLowerCase());
+        User user = userCache.get(username.toLowerCase(), userRepository::findByUsername);
         if (user == null) throw new UserNotFoundException(username + " does not exist");
         return user;
     }
 
+    private void evictUser(String username) {
+        userCache.invalidate(username.toLowerCase());
+    }
+
     private void validateUsername(String username) {
         boolean userExists = userRepository.existsByUsername(username.toLowerCase());
         if (userExists) throw new UserAlreadyExistException(username + " already exist");
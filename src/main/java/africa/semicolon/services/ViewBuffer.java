@@ -0,0 +1,90 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.models.View;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class ViewBuffer {
+
+    private final Stripe[] stripes;
+    private final int maxPending;
+    private final Counter dropped;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public ViewBuffer(@Value("${blog.views.buffer-stripes:16}") int stripeCount,
+                      @Value("${blog.views.buffer-max-pending:100000}") int maxPending,
+                      MeterRegistry meterRegistry) {
+        stripes = new Stripe[stripeCount];
+        for (int index = 0; index < stripeCount; index++) stripes[index] = new Stripe();
+        this.maxPending = maxPending;
+        dropped = Counter.builder("blog.views.dropped").register(meterRegistry);
+    }
+
+    public int add(View view) {
+        Stripe stripe = stripe();
+        stripe.lock.lock();
+        try {
+            stripe.views.add(view);
+        } finally {
+            stripe.lock.unlock();
+        }
+        return pending.incrementAndGet();
+    }
+
+    /**
+     * Puts back views whose flush failed, as long as the buffer stays under its bound. The views that do not
+     * fit are dropped and counted. Returns how many were kept.
+     */
+    public int requeue(List<View> views) {
+        int kept = Math.min(views.size(), Math.max(0, maxPending - pending.get()));
+        if (kept < views.size()) dropped.increment(views.size() - kept);
+        if (kept == 0) return 0;
+        Stripe stripe = stripe();
+        stripe.lock.lock();
+        try {
+            stripe.views.addAll(views.subList(0, kept));
+        } finally {
+            stripe.lock.unlock();
+        }
+        pending.addAndGet(kept);
+        return kept;
+    }
+
+    public List<View> drain() {
+        List<View> drained = new ArrayList<>(Math.max(pending.get(), 16));
+        for (Stripe stripe : stripes) {
+            List<View> views;
+            stripe.lock.lock();
+            try {
+                views = stripe.views;
+                stripe.views = new ArrayList<>();
+            } finally {
+                stripe.lock.unlock();
+            }
+            drained.addAll(views);
+        }
+        pending.addAndGet(-drained.size());
+        return drained;
+    }
+
+    public int size() {
+        return pending.get();
+    }
+
+    private Stripe stripe() {
+        return stripes[(int) (Thread.currentThread().threadId() % stripes.length)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<View> views = new ArrayList<>();
+    }
+}
@@ -0,0 +1,102 @@
+package africa.semicolon.services;
+
+import africa.semicolon.utils.BloomFilter;
+import africa.semicolon.utils.HyperLogLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers which (post, viewer) pairs were seen recently, in two generations of Bloom filters that rotate every
+ * window. A pair found in either generation is a repeat, and it is not re-added, so a viewer counts again
+ * between one and two windows after the view that counted. A generation also rotates early once it holds the
+ * expected number of views, which keeps memory fixed and the false positive rate at the configured bound at
+ * the cost of a shorter window under load.
+ */
+@Component
+public class ViewDeduplicator {
+
+    private final long windowNanos;
+    private final long expectedViews;
+    private final double falsePositiveRate;
+    private final Counter counted;
+    private final Counter suppressed;
+    private volatile Generations generations;
+
+    public ViewDeduplicator(@Value("${blog.views.dedup.window:PT30M}") Duration window,
+                            @Value("${blog.views.dedup.expected-views-per-window:1000000}") long expectedViews,
+                            @Value("${blog.views.dedup.false-positive-rate:0.001}") double falsePositiveRate,
+                            MeterRegistry meterRegistry) {
+        this.windowNanos = window.toNanos();
+        this.expectedViews = expectedViews;
+        this.falsePositiveRate = falsePositiveRate;
+        if (windowNanos > 0) generations = new Generations(newFilter(), newFilter(), System.nanoTime() + windowNanos);
+        counted = Counter.builder("blog.views.dedup").tag("result", "counted").register(meterRegistry);
+        suppressed = Counter.builder("blog.views.dedup").tag("result", "suppressed").register(meterRegistry);
+        Gauge.builder("blog.views.dedup.suppression.ratio", this, ViewDeduplicator::suppressionRatio)
+                .register(meterRegistry);
+        Gauge.builder("blog.views.dedup.memory", this, ViewDeduplicator::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isRepeat(String postId, String viewerId) {
+        if (windowNanos <= 0 || postId == null || viewerId == null) {
+            counted.increment();
+            return false;
+        }
+        long hash = HyperLogLog.hash(postId) * 31 + HyperLogLog.hash(viewerId);
+        Generations current = currentGenerations();
+        boolean repeat = current.previous.mightContain(hash) || !current.current.add(hash);
+        if (repeat) {
+            suppressed.increment();
+            return true;
+        }
+        if (current.insertions.incrementAndGet() >= expectedViews) rotate(current);
+        counted.increment();
+        return false;
+    }
+
+    private Generations currentGenerations() {
+        Generations current = generations;
+        if (System.nanoTime() - current.rotateAt >= 0) rotate(current);
+        return generations;
+    }
+
+    private synchronized void rotate(Generations expected) {
+        if (generations != expected) return;
+        generations = new Generations(newFilter(), expected.current, System.nanoTime() + windowNanos);
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedViews, falsePositiveRate);
+    }
+
+    private double suppressionRatio() {
+        double total = counted.count() + suppressed.count();
+        return total == 0 ? 0 : suppressed.count() / total;
+    }
+
+    private long memoryBytes() {
+        Generations current = generations;
+        return current == null ? 0 : current.current.sizeInBytes() + current.previous.sizeInBytes();
+    }
+
+    private static final class Generations {
+        private final BloomFilter current;
+        private final BloomFilter previous;
+        private final long rotateAt;
+        private final AtomicLong insertions = new AtomicLong();
+
+        Generations(BloomFilter current, BloomFilter previous, long rotateAt) {
+            this.current = current;
+            this.previous = previous;
+            this.rotateAt = rotateAt;
+        }
+    }
+}
@@ -2,9 +2,22 @@ package africa.semicolon.services;
 
 import africa.semicolon.data.models.View;
 import africa.semicolon.dto.requests.ViewPostRequest;
+import africa.semicolon.dto.responses.ViewStatsResponse;
+import africa.semicolon.utils.TimeRange;
+
+import java.util.List;
+import java.util.function.Supplier;
 
 public interface ViewServices {
     View saveView(ViewPostRequest viewPostRequest);
 
     Long countNoOfViews();
+
+    void flushViews();
+
+    <T> T flushViewsThen(Supplier<T> beforeNextFlush);
+
+    void saveViews(List<View> views);
+
+    ViewStatsResponse findViewStats(String postId, TimeRange range);
 }
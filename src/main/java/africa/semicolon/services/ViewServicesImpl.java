@@ -1,28 +1,179 @@
 package africa.semicolon.services;
 
+import africa.semicolon.data.models.Post;
 import africa.semicolon.data.models.View;
-import africa.semicolon.data.repositories.ViewRepository;
+import africa.semicolon.data.models.ViewBucket;
+import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.data.repositories.ViewBucketRepository;
 import africa.semicolon.dto.requests.ViewPostRequest;
+import africa.semicolon.dto.responses.ViewStatsResponse;
+import africa.semicolon.utils.TimeRange;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import static africa.semicolon.utils.Mapper.requestMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static africa.semicolon.utils.Mapper.*;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toSet;
 
 @Service
 public class ViewServicesImpl implements ViewServices{
 
+    private static final Logger log = LoggerFactory.getLogger(ViewServicesImpl.class);
+
+    @Autowired
+    ViewBucketRepository viewBucketRepository;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    ViewBuffer viewBuffer;
+    @Autowired
+    ViewDeduplicator viewDeduplicator;
+
     @Autowired
-    ViewRepository viewRepository;
+    LoadingCache<String, Post> postCache;
+
+    @Value("${blog.views.flush-batch-size:1000}")
+    int flushBatchSize;
+    @Value("${blog.posts.cache.stale-while-revalidate:false}")
+    boolean staleWhileRevalidate;
+
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Map<String, Long> unappliedViewCounts = new HashMap<>();
 
     @Override
     public View saveView(ViewPostRequest viewPostRequest) {
         View view = requestMap(viewPostRequest);
-        viewRepository.save(view);
+        String viewerId = view.getViewer() == null ? null : view.getViewer().getId();
+        if (viewDeduplicator.isRepeat(view.getPostId(), viewerId)) {
+            view.setRepeat(true);
+            return view;
+        }
+        view.setId(new ObjectId().toHexString());
+        int pending = viewBuffer.add(view);
+        if (pending >= flushBatchSize && flushRequested.compareAndSet(false, true)) flusher.execute(this::flushViews);
         return view;
     }
 
     @Override
     public Long countNoOfViews() {
-        return viewRepository.count();
+        return viewBucketRepository.sumViews();
+    }
+
+    /**
+     * Writes the buffered views to their hourly buckets, then adds them to the posts' view counts. Views whose
+     * bucket write failed go back into the buffer; counts whose increment failed are carried to the next flush
+     * on their own, so a retry never repeats a write that already went through.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval-ms:500}")
+    public void flushViews() {
+        flushViewsThen(() -> null);
+    }
+
+    @Override
+    public <T> T flushViewsThen(Supplier<T> beforeNextFlush) {
+        flushLock.lock();
+        try {
+            flush();
+            return beforeNextFlush.get();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        List<View> views = viewBuffer.drain();
+        Map<String, Long> viewCounts = new HashMap<>(unappliedViewCounts);
+        unappliedViewCounts.clear();
+        if (!views.isEmpty()) writeBuckets(views).forEach(view -> viewCounts.merge(view.getPostId(), 1L, Long::sum));
+        if (!viewCounts.isEmpty()) incrementViewCounts(viewCounts);
+    }
+
+    private List<View> writeBuckets(List<View> views) {
+        List<ViewBucket> buckets = List.copyOf(viewBucketsMap(views));
+        try {
+            viewBucketRepository.addViews(buckets);
+            return views;
+        } catch (BulkOperationException e) {
+            Set<String> failed = failedIndexes(e).stream().map(index -> buckets.get(index).getId()).collect(toSet());
+            List<View> written = new ArrayList<>(views.size());
+            List<View> retry = new ArrayList<>();
+            for (View view : views) {
+                (failed.contains(viewBucketId(view.getPostId(), view.getTimeOfView())) ? retry : written).add(view);
+            }
+            log.warn("Failed to write {} of {} view buckets, retrying {} views", failed.size(), buckets.size(), retry.size(), e);
+            viewBuffer.requeue(retry);
+            return written;
+        } catch (DataAccessException e) {
+            log.warn("Failed to write view buckets, retrying {} views", views.size(), e);
+            viewBuffer.requeue(views);
+            return List.of();
+        }
+    }
+
+    private void incrementViewCounts(Map<String, Long> viewCounts) {
+        List<String> postIds = List.copyOf(viewCounts.keySet());
+        Set<String> failed;
+        try {
+            postRepository.incrementViewCounts(viewCounts);
+            failed = Set.of();
+        } catch (BulkOperationException e) {
+            failed = failedIndexes(e).stream().map(postIds::get).collect(toSet());
+            log.warn("Failed to increment view counts of {} posts, retrying on the next flush", failed.size(), e);
+        } catch (DataAccessException e) {
+            failed = Set.copyOf(postIds);
+            log.warn("Failed to increment view counts of {} posts, retrying on the next flush", failed.size(), e);
+        }
+        Set<String> unapplied = failed;
+        unapplied.forEach(postId -> unappliedViewCounts.merge(postId, viewCounts.get(postId), Long::sum));
+        if (!staleWhileRevalidate) postCache.invalidateAll(postIds.stream().filter(postId -> !unapplied.contains(postId)).toList());
+    }
+
+    private static List<Integer> failedIndexes(BulkOperationException e) {
+        return e.getErrors().stream().map(BulkWriteError::getIndex).toList();
+    }
+
+    @Override
+    public void saveViews(List<View> views) {
+        viewBucketRepository.addViews(viewBucketsMap(views));
+        Map<String, Long> viewCounts = views.stream().collect(groupingBy(View::getPostId, counting()));
+        postRepository.incrementViewCounts(viewCounts);
+        if (!staleWhileRevalidate) postCache.invalidateAll(viewCounts.keySet());
+    }
+
+    @Override
+    public ViewStatsResponse findViewStats(String postId, TimeRange range) {
+        return viewStatsResponseMap(postId, range, viewBucketRepository.findRange(postId, range.from(), range.to()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushViews();
     }
 }
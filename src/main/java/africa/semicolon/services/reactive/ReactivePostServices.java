@@ -0,0 +1,36 @@
+package africa.semicolon.services.reactive;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.dto.requests.CommentPostRequest;
+import africa.semicolon.dto.requests.DeleteCommentRequest;
+import africa.semicolon.dto.requests.ViewPostRequest;
+import africa.semicolon.dto.responses.CommentPostResponse;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.dto.responses.TrendingPost;
+import africa.semicolon.dto.responses.ViewPostResponse;
+import africa.semicolon.dto.responses.ViewStatsResponse;
+import africa.semicolon.utils.PageCursor;
+import africa.semicolon.utils.TimeRange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactivePostServices {
+    Mono<Post> addPost(Post post);
+    Mono<Void> deletePost(Post post);
+    Mono<Post> findPostById(String postId);
+
+    Mono<Long> findPostVersion(String postId);
+    Flux<PostSummary> findPostSummaryPage(String authorId, PageCursor after, int limit);
+    Flux<PostSummary> streamPostSummaries(String authorId);
+    Flux<CommentSummary> findCommentPage(String postId, PageCursor after, int limit);
+
+    Mono<ViewStatsResponse> findViewStats(String postId, TimeRange range);
+    Flux<PostSummary> findPopularPosts(String metric, int limit);
+    List<TrendingPost> findTrendingPosts(int limit);
+    Mono<ViewPostResponse> addView(ViewPostRequest viewPostRequest);
+    Mono<CommentPostResponse> addComment(CommentPostRequest commentPostRequest);
+    Mono<CommentPostResponse> deleteComment(DeleteCommentRequest deleteCommentRequest);
+}
@@ -0,0 +1,174 @@
+package africa.semicolon.services.reactive;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.View;
+import africa.semicolon.data.repositories.reactive.ReactiveCommentRepository;
+import africa.semicolon.data.repositories.reactive.ReactivePostRepository;
+import africa.semicolon.dto.requests.CommentPostRequest;
+import africa.semicolon.dto.requests.DeleteCommentRequest;
+import africa.semicolon.dto.requests.ViewPostRequest;
+import africa.semicolon.dto.responses.CommentPostResponse;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.dto.responses.TrendingPost;
+import africa.semicolon.dto.responses.ViewPostResponse;
+import africa.semicolon.dto.responses.ViewStatsResponse;
+import africa.semicolon.events.PostEvents;
+import africa.semicolon.exceptions.CommentNotFoundException;
+import africa.semicolon.exceptions.InvalidSortException;
+import africa.semicolon.exceptions.PostNotFoundException;
+import africa.semicolon.services.DeletionServices;
+import africa.semicolon.services.TrendingServices;
+import africa.semicolon.services.ViewServices;
+import africa.semicolon.utils.PageCursor;
+import africa.semicolon.utils.TimeRange;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+import static africa.semicolon.utils.Mapper.*;
+
+@Service
+@Profile("reactive")
+public class ReactivePostServicesImpl implements ReactivePostServices{
+
+    @Autowired
+    ReactivePostRepository postRepository;
+    @Autowired
+    ReactiveCommentRepository commentRepository;
+    @Autowired
+    ViewServices viewServices;
+    @Autowired
+    TrendingServices trendingServices;
+    @Autowired
+    DeletionServices deletionServices;
+    @Autowired
+    PostEvents postEvents;
+    @Autowired
+    LoadingCache<String, Post> postCache;
+
+    @Value("${blog.reactive.stream-prefetch:256}")
+    int streamPrefetch;
+
+    @Override
+    public Mono<Post> addPost(Post post) {
+        return postRepository.save(post).doOnNext(postEvents::postCreated);
+    }
+
+    @Override
+    public Mono<Void> deletePost(Post post) {
+        return postRepository.deleteById(post.getId())
+                .then(Mono.fromRunnable(() -> postCache.invalidate(post.getId())))
+                .then(Mono.fromRunnable(() -> deletionServices.schedulePostDeletion(post.getId()))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .doOnSuccess(deleted -> postEvents.postDeleted(post.getId()))
+                .then();
+    }
+
+    @Override
+    public Mono<Post> findPostById(String postId) {
+        return Mono.justOrEmpty(postCache.getIfPresent(postId))
+                .switchIfEmpty(Mono.defer(() -> postRepository.findById(postId)))
+                .switchIfEmpty(Mono.error(() -> new PostNotFoundException("Post not found")));
+    }
+
+    @Override
+    public Mono<Long> findPostVersion(String postId) {
+        return postRepository.findVersion(postId)
+                .switchIfEmpty(Mono.error(() -> new PostNotFoundException("Post not found")));
+    }
+
+    @Override
+    public Flux<PostSummary> findPostSummaryPage(String authorId, PageCursor after, int limit) {
+        return postRepository.findSummaryPage(authorId, after, limit);
+    }
+
+    @Override
+    public Flux<CommentSummary> findCommentPage(String postId, PageCursor after, int limit) {
+        return postExists(postId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new PostNotFoundException("Post not found")))
+                .thenMany(Flux.defer(() -> commentRepository.findPage(postId, after, limit)));
+    }
+
+    @Override
+    public Mono<ViewStatsResponse> findViewStats(String postId, TimeRange range) {
+        return postExists(postId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new PostNotFoundException("Post not found")))
+                .then(Mono.fromCallable(() -> viewServices.findViewStats(postId, range))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    @Override
+    public Flux<PostSummary> streamPostSummaries(String authorId) {
+        return postRepository.streamSummaries(authorId).limitRate(streamPrefetch);
+    }
+
+    @Override
+    public Flux<PostSummary> findPopularPosts(String metric, int limit) {
+        return switch (metric) {
+            case "views" -> postRepository.findTopSummaries("viewCount", limit);
+            case "comments" -> postRepository.findTopSummaries("commentCount", limit);
+            default -> Flux.error(new InvalidSortException("Unknown popularity metric " + metric));
+        };
+    }
+
+    @Override
+    public List<TrendingPost> findTrendingPosts(int limit) {
+        return trendingServices.topTrending(limit);
+    }
+
+    @Override
+    public Mono<ViewPostResponse> addView(ViewPostRequest viewPostRequest) {
+        String postId = viewPostRequest.getPostId();
+        return postExists(postId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new PostNotFoundException("Post not found")))
+                .map(exists -> {
+                    View view = viewServices.saveView(viewPostRequest);
+                    if (!view.isRepeat()) postEvents.postViewed(postId);
+                    return viewPostResponseMap(view);
+                });
+    }
+
+    @Override
+    public Mono<CommentPostResponse> addComment(CommentPostRequest commentPostRequest) {
+        return Mono.fromCallable(() -> requestMap(commentPostRequest))
+                .flatMap(commentRepository::save)
+                .flatMap(saved -> postRepository.pushComment(commentPostRequest.getPostId(), recentCommentMap(saved))
+                        .switchIfEmpty(Mono.defer(() -> commentRepository.delete(saved)
+                                .then(Mono.error(new PostNotFoundException("Post not found")))))
+                        .map(post -> {
+                            postCache.invalidate(post.getId());
+                            postEvents.commentAdded(post.getId());
+                            return commentPostResponseMap(post, saved);
+                        }));
+    }
+
+    @Override
+    public Mono<CommentPostResponse> deleteComment(DeleteCommentRequest deleteCommentRequest) {
+        String postId = deleteCommentRequest.getPostId();
+        return commentRepository.findAndRemove(postId, deleteCommentRequest.getCommentId())
+                .switchIfEmpty(Mono.defer(() -> postExists(postId).flatMap(exists -> Mono.error(exists
+                        ? new CommentNotFoundException("Comment not found")
+                        : new PostNotFoundException("Post not found")))))
+                .flatMap(comment -> postRepository.pullComment(postId, comment.getId())
+                        .switchIfEmpty(Mono.error(() -> new PostNotFoundException("Post not found")))
+                        .map(post -> {
+                            postCache.invalidate(post.getId());
+                            return commentPostResponseMap(post, comment);
+                        }));
+    }
+
+    private Mono<Boolean> postExists(String postId) {
+        return postCache.getIfPresent(postId) != null ? Mono.just(true) : postRepository.existsById(postId);
+    }
+}
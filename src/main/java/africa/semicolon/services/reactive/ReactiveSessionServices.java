@@ -0,0 +1,11 @@
+package africa.semicolon.services.reactive;
+
+import africa.semicolon.data.models.Session;
+import africa.semicolon.data.models.User;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSessionServices {
+    Mono<Session> createSession(User user);
+    Mono<Session> findActiveSession(String token);
+    Mono<Void> endSession(String token);
+}
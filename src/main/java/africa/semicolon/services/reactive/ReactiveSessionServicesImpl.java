@@ -0,0 +1,69 @@
+package africa.semicolon.services.reactive;
+
+import africa.semicolon.data.models.Session;
+import africa.semicolon.data.models.User;
+import africa.semicolon.data.repositories.reactive.ReactiveSessionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+@Service
+@Profile("reactive")
+public class ReactiveSessionServicesImpl implements ReactiveSessionServices{
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    ReactiveSessionRepository sessionRepository;
+    @Autowired
+    Cache<String, Session> sessionCache;
+
+    @Value("${blog.sessions.ttl:PT12H}")
+    Duration sessionTtl;
+
+    @Override
+    public Mono<Session> createSession(User user) {
+        Session session = new Session();
+        session.setToken(newToken());
+        session.setUserId(user.getId());
+        session.setUsername(user.getUsername());
+        session.setExpiresAt(session.getCreatedAt().plus(sessionTtl));
+        return sessionRepository.save(session)
+                .doOnNext(saved -> sessionCache.put(saved.getToken(), saved));
+    }
+
+    @Override
+    public Mono<Session> findActiveSession(String token) {
+        if (token == null) return Mono.empty();
+        return Mono.justOrEmpty(sessionCache.getIfPresent(token))
+                .switchIfEmpty(Mono.defer(() -> sessionRepository.findById(token)
+                        .doOnNext(session -> sessionCache.put(token, session))))
+                .filter(session -> {
+                    if (!session.getExpiresAt().isBefore(LocalDateTime.now())) return true;
+                    sessionCache.invalidate(token);
+                    return false;
+                });
+    }
+
+    @Override
+    public Mono<Void> endSession(String token) {
+        sessionCache.invalidate(token);
+        return sessionRepository.deleteById(token);
+    }
+
+    private String newToken() {
+        byte[] token = new byte[TOKEN_BYTES];
+        random.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+}
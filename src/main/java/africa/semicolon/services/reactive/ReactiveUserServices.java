@@ -0,0 +1,33 @@
+package africa.semicolon.services.reactive;
+
+import africa.semicolon.data.models.User;
+import africa.semicolon.dto.requests.*;
+import africa.semicolon.dto.responses.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveUserServices {
+    Mono<UserRegisterResponse> register(UserRegisterRequest userRegisterRequest);
+    Mono<UserLoginResponse> login(UserLoginRequest userLoginRequest);
+    Mono<UserLogoutResponse> logout(UserLogoutRequest userLogoutRequest);
+    Mono<CreatePostResponse> createPost(CreatePostRequest createPostRequest);
+    Mono<DeletePostResponse> deletePost(DeletePostRequest deletePostRequest);
+    Mono<UserPostsResponse> getUserPosts(String username, String cursor, int size);
+    Flux<PostSummary> streamUserPosts(String username);
+    Mono<PostResponse> getPost(String postId);
+
+    Mono<Long> getPostVersion(String postId);
+
+    Mono<PostCommentsResponse> getPostComments(String postId, String cursor, int size);
+
+    Mono<ViewStatsResponse> getViewStats(String postId, String from, String to);
+    Mono<List<PostSummary>> getPopularPosts(String metric, int limit);
+    Mono<List<TrendingPost>> getTrendingPosts(int limit);
+    Mono<SearchResponse> searchPosts(String query, int page, int size);
+    Mono<ViewPostResponse> viewPost(ViewPostRequest viewPostRequest);
+    Mono<CommentPostResponse> addComment(CommentPostRequest commentPostRequest);
+    Mono<CommentPostResponse> deleteComment(DeleteCommentRequest deleteCommentRequest);
+    Mono<User> findUserByName(String username);
+}
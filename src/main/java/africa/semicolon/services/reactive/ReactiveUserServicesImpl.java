@@ -0,0 +1,202 @@
+package africa.semicolon.services.reactive;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.Session;
+import africa.semicolon.data.models.User;
+import africa.semicolon.data.repositories.reactive.ReactiveUserRepository;
+import africa.semicolon.dto.requests.*;
+import africa.semicolon.dto.responses.*;
+import africa.semicolon.exceptions.InvalidPasswordException;
+import africa.semicolon.exceptions.ServiceBusyException;
+import africa.semicolon.exceptions.UserAlreadyExistException;
+import africa.semicolon.exceptions.UserNotFoundException;
+import africa.semicolon.exceptions.UserNotLoggedInException;
+import africa.semicolon.services.PasswordServices;
+import africa.semicolon.services.SearchServices;
+import africa.semicolon.utils.PageCursor;
+import africa.semicolon.utils.TimeRange;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+import static africa.semicolon.utils.Mapper.*;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserServicesImpl implements ReactiveUserServices{
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    ReactiveUserRepository userRepository;
+    @Autowired
+    ReactivePostServices postServices;
+    @Autowired
+    ReactiveSessionServices sessionServices;
+    @Autowired
+    SearchServices searchServices;
+    @Autowired
+    PasswordServices passwordServices;
+    @Autowired
+    Cache<String, User> userCache;
+
+    @Override
+    public Mono<UserRegisterResponse> register(UserRegisterRequest userRegisterRequest) {
+        String username = userRegisterRequest.getUsername();
+        return userRepository.existsByUsername(username.toLowerCase())
+                .flatMap(exists -> exists
+                        ? Mono.error(new UserAlreadyExistException(username + " already exist"))
+                        : Mono.fromFuture(() -> passwordServices.hash(userRegisterRequest.getPassword())))
+                .flatMap(password -> {
+                    User user = requestMap(userRegisterRequest);
+                    user.setPassword(password);
+                    return userRepository.save(user);
+                })
+                .onErrorMap(DuplicateKeyException.class, e -> new UserAlreadyExistException(username + " already exist"))
+                .doOnNext(user -> userCache.invalidate(user.getUsername().toLowerCase()))
+                .map(user -> responseMap(user));
+    }
+
+    @Override
+    public Mono<UserLoginResponse> login(UserLoginRequest userLoginRequest) {
+        String password = userLoginRequest.getPassword();
+        return findUserByName(userLoginRequest.getUsername())
+                .flatMap(user -> Mono.fromFuture(() -> passwordServices.matches(password, user.getPassword()))
+                        .flatMap(matches -> matches
+                                ? sessionServices.createSession(user).map(session -> loginResponseMap(user, session))
+                                : Mono.error(new InvalidPasswordException("Wrong password")))
+                        .doOnSuccess(response -> {
+                            if (passwordServices.needsRehash(user.getPassword())) rehashPassword(user, password);
+                        }));
+    }
+
+    private void rehashPassword(User user, String password) {
+        String currentPassword = user.getPassword();
+        Mono.fromFuture(() -> passwordServices.hash(password))
+                .flatMap(newPassword -> userRepository.updatePassword(user.getId(), currentPassword, newPassword))
+                .filter(updated -> updated > 0)
+                .doOnNext(updated -> userCache.invalidate(user.getUsername().toLowerCase()))
+                .onErrorResume(ServiceBusyException.class, e -> Mono.empty())
+                .subscribe();
+    }
+
+    @Override
+    public Mono<UserLogoutResponse> logout(UserLogoutRequest userLogoutRequest) {
+        return authenticate(userLogoutRequest.getToken(), userLogoutRequest.getUsername(), "You are not logged in")
+                .flatMap(session -> sessionServices.endSession(session.getToken()).thenReturn(logoutResponseMap(session)));
+    }
+
+    @Override
+    public Mono<CreatePostResponse> createPost(CreatePostRequest createPostRequest) {
+        return authenticate(createPostRequest.getToken(), createPostRequest.getAuthor(), "You need to log in to create post")
+                .flatMap(session -> {
+                    Post post = requestMap(createPostRequest);
+                    post.setAuthorId(session.getUserId());
+                    return postServices.addPost(post);
+                })
+                .map(post -> createPostResponseMap(post));
+    }
+
+    @Override
+    public Mono<DeletePostResponse> deletePost(DeletePostRequest deletePostRequest) {
+        return authenticate(deletePostRequest.getToken(), deletePostRequest.getAuthor(), "You need to log in to delete post")
+                .flatMap(session -> postServices.findPostById(deletePostRequest.getPostId())
+                        .filter(post -> session.getUserId().equals(post.getAuthorId()))
+                        .switchIfEmpty(Mono.error(() -> new UserNotLoggedInException("You can only delete your own posts"))))
+                .flatMap(post -> postServices.deletePost(post).thenReturn(deletePostResponseMap(post)));
+    }
+
+    @Override
+    public Mono<UserPostsResponse> getUserPosts(String username, String cursor, int size) {
+        int pageSize = pageSize(size);
+        return findUserByName(username)
+                .flatMap(user -> postServices.findPostSummaryPage(user.getId(), PageCursor.decode(cursor), pageSize + 1)
+                        .collectList()
+                        .map(posts -> allPostResponseMap(user.getUsername(), posts, pageSize)));
+    }
+
+    @Override
+    public Mono<PostResponse> getPost(String postId) {
+        return postServices.findPostById(postId).map(post -> postResponseMap(post));
+    }
+
+    @Override
+    public Mono<Long> getPostVersion(String postId) {
+        return postServices.findPostVersion(postId);
+    }
+
+    @Override
+    public Mono<PostCommentsResponse> getPostComments(String postId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        return Mono.defer(() -> postServices.findCommentPage(postId, PageCursor.decode(cursor), pageSize + 1).collectList())
+                .map(comments -> postCommentsResponseMap(postId, comments, pageSize));
+    }
+
+    @Override
+    public Mono<ViewStatsResponse> getViewStats(String postId, String from, String to) {
+        return Mono.defer(() -> postServices.findViewStats(postId, TimeRange.parse(from, to)));
+    }
+
+    @Override
+    public Flux<PostSummary> streamUserPosts(String username) {
+        return findUserByName(username).flatMapMany(user -> postServices.streamPostSummaries(user.getId()));
+    }
+
+    @Override
+    public Mono<List<PostSummary>> getPopularPosts(String metric, int limit) {
+        return postServices.findPopularPosts(metric, pageSize(limit)).collectList();
+    }
+
+    @Override
+    public Mono<List<TrendingPost>> getTrendingPosts(int limit) {
+        return Mono.fromSupplier(() -> postServices.findTrendingPosts(pageSize(limit)));
+    }
+
+    @Override
+    public Mono<SearchResponse> searchPosts(String query, int page, int size) {
+        return Mono.fromCallable(() -> searchServices.search(query, Math.max(page, 0), pageSize(size)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static int pageSize(int size) {
+        return size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    @Override
+    public Mono<ViewPostResponse> viewPost(ViewPostRequest viewPostRequest) {
+        return postServices.addView(viewPostRequest);
+    }
+
+    @Override
+    public Mono<CommentPostResponse> addComment(CommentPostRequest commentPostRequest) {
+        return postServices.addComment(commentPostRequest);
+    }
+
+    @Override
+    public Mono<CommentPostResponse> deleteComment(DeleteCommentRequest deleteCommentRequest) {
+        return postServices.deleteComment(deleteCommentRequest);
+    }
+
+    @Override
+    public Mono<User> findUserByName(String username) {
+        String key = username.toLowerCase();
+        return Mono.justOrEmpty(userCache.getIfPresent(key))
+                .switchIfEmpty(Mono.defer(() -> userRepository.findByUsername(key)
+                        .doOnNext(user -> userCache.put(key, user))))
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(username + " does not exist")));
+    }
+
+    private Mono<Session> authenticate(String token, String username, String message) {
+        return sessionServices.findActiveSession(token)
+                .filter(session -> username != null && session.getUsername().equals(username.toLowerCase()))
+                .switchIfEmpty(Mono.error(() -> new UserNotLoggedInException(message)));
+    }
+}
@@ -0,0 +1,60 @@
+package africa.semicolon.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed-size Bloom filter over 64-bit hashes, sized up front from the expected insertions and the false positive
+ * rate. Bits are set with an atomic OR, so concurrent adds never lock; the k probe positions come from the two
+ * halves of the hash (Kirsch-Mitzenmacher), so callers hash once.
+ */
+public final class BloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive and the false positive rate in (0, 1)");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        words = new long[(int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE)];
+        bitCount = (long) words.length * Long.SIZE;
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * @return true when at least one bit was unset, so the hash was definitely not added before
+     */
+    public boolean add(long hash) {
+        boolean added = false;
+        long first = hash;
+        long second = hash >>> 32 | hash << 32;
+        for (int probe = 0; probe < hashCount; probe++) {
+            long bit = ((first + probe * second) & Long.MAX_VALUE) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            // Repeats are the common case here, so read before writing rather than dirtying the cache line.
+            if (((long) WORDS.getVolatile(words, word) & mask) != 0) continue;
+            if (((long) WORDS.getAndBitwiseOr(words, word, mask) & mask) == 0) added = true;
+        }
+        return added;
+    }
+
+    public boolean mightContain(long hash) {
+        long first = hash;
+        long second = hash >>> 32 | hash << 32;
+        for (int probe = 0; probe < hashCount; probe++) {
+            long bit = ((first + probe * second) & Long.MAX_VALUE) % bitCount;
+            if (((long) WORDS.getVolatile(words, (int) (bit >>> 6)) & 1L << bit) == 0) return false;
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,55 @@
+package africa.semicolon.utils;
+
+/**
+ * HyperLogLog sketch with 2^10 registers, about 3% standard error. Register updates are exposed as
+ * (index, rank) pairs so a stored sketch can be merged with a plain $max per register, without reading it first.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 10;
+    public static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int index = 0; index < value.length(); index++) {
+            hash ^= value.charAt(index);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53ec4d9L;
+        return hash ^ hash >>> 33;
+    }
+
+    public static int index(long hash) {
+        return (int) (hash >>> (Long.SIZE - PRECISION));
+    }
+
+    public static int rank(long hash) {
+        return Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+    }
+
+    public void add(long hash) {
+        merge(index(hash), rank(hash));
+    }
+
+    public void merge(int index, int rank) {
+        if (rank > registers[index]) registers[index] = (byte) rank;
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int emptyRegisters = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) emptyRegisters++;
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && emptyRegisters > 0) estimate = REGISTERS * Math.log((double) REGISTERS / emptyRegisters);
+        return Math.round(estimate);
+    }
+}
@@ -0,0 +1,276 @@
+package africa.semicolon.utils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory BM25 index. Documents get dense int ids in insertion order, so every posting list is sorted by
+ * construction and stored as delta + varint encoded (doc, frequency) pairs. Deletes only set a tombstone;
+ * posting lists are rewritten once tombstones pass a quarter of the index.
+ */
+public final class InvertedIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_DELETES_TO_COMPACT = 1024;
+    private static final double COMPACTION_RATIO = 0.25;
+
+    private final double k1;
+    private final double b;
+    private final int titleWeight;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private Map<String, PostingList> postings = new HashMap<>();
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private BitSet deleted = new BitSet();
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+
+    public InvertedIndex(double k1, double b, int titleWeight) {
+        this.k1 = k1;
+        this.b = b;
+        this.titleWeight = titleWeight;
+    }
+
+    public void put(String id, String title, String content) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        Tokenizer.countTerms(title, titleWeight, termFrequencies);
+        Tokenizer.countTerms(content, 1, termFrequencies);
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = docIds.get(id);
+            if (previous != null) delete(previous);
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            ids[doc] = id;
+            titles[doc] = title;
+            lengths[doc] = length;
+            totalLength += length;
+            docIds.put(id, doc);
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new PostingList()).add(doc, frequency));
+            if (previous != null) compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docIds.remove(id);
+            if (doc == null) return false;
+            delete(doc);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Result search(String query, int offset, int limit) {
+        Set<String> terms = Tokenizer.distinctTerms(query);
+        lock.readLock().lock();
+        try {
+            int live = docCount - deletedCount;
+            List<PostingList> matches = new ArrayList<>(terms.size());
+            int bound = 0;
+            for (String term : terms) {
+                PostingList postingList = postings.get(term);
+                if (postingList == null) continue;
+                matches.add(postingList);
+                bound += postingList.documentCount;
+            }
+            if (live == 0 || matches.isEmpty()) return new Result(0, List.of());
+
+            double averageLength = (double) totalLength / live;
+            ScoreAccumulator scores = new ScoreAccumulator(bound);
+            for (PostingList postingList : matches) {
+                int documentFrequency = Math.min(postingList.documentCount, live);
+                double idf = Math.log(1 + (live - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                postingList.forEach((doc, frequency) -> {
+                    if (deleted.get(doc)) return;
+                    double norm = k1 * (1 - b + b * lengths[doc] / averageLength);
+                    scores.add(doc, (float) (idf * frequency * (k1 + 1) / (frequency + norm)));
+                });
+            }
+            return new Result(scores.size, topHits(scores, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> topHits(ScoreAccumulator scores, int offset, int limit) {
+        if (offset >= scores.size || limit <= 0) return List.of();
+        int wanted = (int) Math.min((long) offset + limit, scores.size);
+        Comparator<Integer> lowestFirst = Comparator.<Integer>comparingDouble(slot -> scores.scores[slot])
+                .thenComparingInt(slot -> scores.keys[slot]);
+        PriorityQueue<Integer> top = new PriorityQueue<>(wanted + 1, lowestFirst);
+        for (int slot = 0; slot < scores.keys.length; slot++) {
+            if (scores.keys[slot] == 0) continue;
+            if (top.size() == wanted && lowestFirst.compare(slot, top.peek()) <= 0) continue;
+            top.add(slot);
+            if (top.size() > wanted) top.poll();
+        }
+        Hit[] ranked = new Hit[top.size()];
+        for (int index = ranked.length - 1; index >= 0; index--) {
+            int slot = top.poll();
+            int doc = scores.keys[slot] - 1;
+            ranked[index] = new Hit(ids[doc], titles[doc], scores.scores[slot]);
+        }
+        return List.of(ranked).subList(offset, ranked.length);
+    }
+
+    private void delete(int doc) {
+        deleted.set(doc);
+        deletedCount++;
+        totalLength -= lengths[doc];
+        ids[doc] = null;
+        titles[doc] = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) return;
+        int grown = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, grown);
+        titles = Arrays.copyOf(titles, grown);
+        lengths = Arrays.copyOf(lengths, grown);
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount >= MIN_DELETES_TO_COMPACT && deletedCount > docCount * COMPACTION_RATIO) compact();
+    }
+
+    private void compact() {
+        int[] remapped = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) continue;
+            remapped[doc] = live;
+            ids[live] = ids[doc];
+            titles[live] = titles[doc];
+            lengths[live] = lengths[doc];
+            docIds.put(ids[live], live);
+            live++;
+        }
+        Arrays.fill(ids, live, docCount, null);
+        Arrays.fill(titles, live, docCount, null);
+
+        Map<String, PostingList> compacted = new HashMap<>();
+        postings.forEach((term, postingList) -> {
+            PostingList rewritten = new PostingList();
+            postingList.forEach((doc, frequency) -> {
+                if (!deleted.get(doc)) rewritten.add(remapped[doc], frequency);
+            });
+            if (rewritten.documentCount > 0) compacted.put(term, rewritten.trimmed());
+        });
+        postings = compacted;
+        deleted = new BitSet();
+        docCount = live;
+        deletedCount = 0;
+    }
+
+    public record Hit(String id, String title, double score) {
+    }
+
+    public record Result(int totalHits, List<Hit> hits) {
+    }
+
+    private interface PostingConsumer {
+        void accept(int doc, int frequency);
+    }
+
+    private static final class PostingList {
+        private byte[] data = new byte[8];
+        private int length;
+        private int documentCount;
+        private int lastDoc = -1;
+
+        void add(int doc, int frequency) {
+            writeVarInt(doc - lastDoc);
+            writeVarInt(frequency);
+            lastDoc = doc;
+            documentCount++;
+        }
+
+        void forEach(PostingConsumer consumer) {
+            int position = 0;
+            int doc = -1;
+            while (position < length) {
+                int delta = 0;
+                for (int shift = 0; ; shift += 7) {
+                    byte current = data[position++];
+                    delta |= (current & 0x7F) << shift;
+                    if (current >= 0) break;
+                }
+                int frequency = 0;
+                for (int shift = 0; ; shift += 7) {
+                    byte current = data[position++];
+                    frequency |= (current & 0x7F) << shift;
+                    if (current >= 0) break;
+                }
+                doc += delta;
+                consumer.accept(doc, frequency);
+            }
+        }
+
+        PostingList trimmed() {
+            data = Arrays.copyOf(data, length);
+            return this;
+        }
+
+        private void writeVarInt(int value) {
+            if (length + 5 > data.length) data = Arrays.copyOf(data, Math.max(length + 5, data.length * 2));
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+    }
+
+    private static final class ScoreAccumulator {
+        private final int[] keys;
+        private final float[] scores;
+        private final int shift;
+        private int size;
+
+        ScoreAccumulator(int expected) {
+            int capacity = 2;
+            while (capacity < expected * 2L) capacity <<= 1;
+            keys = new int[capacity];
+            scores = new float[capacity];
+            shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        }
+
+        void add(int doc, float score) {
+            int key = doc + 1;
+            int mask = keys.length - 1;
+            for (int slot = (key * 0x9E3779B9) >>> shift; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    scores[slot] += score;
+                    return;
+                }
+                if (keys[slot] == 0) {
+                    keys[slot] = key;
+                    scores[slot] = score;
+                    size++;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -2,13 +2,22 @@ package africa.semicolon.utils;
 
 import africa.semicolon.data.models.Comment;
 import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.RecentComment;
+import africa.semicolon.data.models.Session;
 import africa.semicolon.data.models.User;
 import africa.semicolon.data.models.View;
+import africa.semicolon.data.models.ViewBucket;
 import africa.semicolon.dto.requests.*;
 import africa.semicolon.dto.responses.*;
+import africa.semicolon.exceptions.InvalidCommentException;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Mapper {
 
@@ -28,19 +37,57 @@ public class Mapper {
         return post;
     }
 
+    public static Post requestMap(ImportPostRequest importPostRequest){
+        Post post = new Post();
+        post.setTitle(importPostRequest.getTitle());
+        post.setContent(importPostRequest.getContent());
+        if (importPostRequest.getDateCreated() != null) post.setDateCreated(importPostRequest.getDateCreated());
+        return post;
+    }
+
+    public static View requestMap(ImportViewRequest importViewRequest, User viewer){
+        View view = new View();
+        view.setViewer(viewer);
+        view.setPostId(importViewRequest.getPostId());
+        return view;
+    }
+
+    public static Comment requestMap(ImportCommentRequest importCommentRequest, User commenter){
+        Comment comment = new Comment();
+        comment.setPostId(importCommentRequest.getPostId());
+        comment.setCommenter(commenter);
+        comment.setCommenterName(commenter.getUsername());
+        comment.setComment(importCommentRequest.getComment());
+        return comment;
+    }
+
     public static View requestMap(ViewPostRequest viewPostRequest){
         View view = new View();
         view.setViewer(viewPostRequest.getViewer());
+        view.setPostId(viewPostRequest.getPostId());
         return view;
     }
 
     public static Comment requestMap(CommentPostRequest commentPostRequest){
+        User commenter = commentPostRequest.getCommenter();
+        if (commenter == null || commenter.getUsername() == null) throw new InvalidCommentException("A comment needs a commenter");
         Comment comment = new Comment();
+        comment.setPostId(commentPostRequest.getPostId());
         comment.setCommenter(commentPostRequest.getCommenter());
+        comment.setCommenterName(commentPostRequest.getCommenter().getUsername());
         comment.setComment(commentPostRequest.getComment());
         return comment;
     }
 
+    public static RecentComment recentCommentMap(Comment comment){
+        RecentComment recentComment = new RecentComment();
+        recentComment.setCommentId(comment.getId());
+        recentComment.setCommenterName(comment.getCommenterName());
+        recentComment.setComment(comment.getComment());
+        recentComment.setTimeOfComment(comment.getTimeOfComment());
+        return recentComment;
+    }
+
     public static UserRegisterResponse responseMap(User user){
         UserRegisterResponse response = new UserRegisterResponse();
         response.setUsername(user.getUsername());
@@ -49,17 +96,18 @@ public class Mapper {
         return response;
     }
 
-    public static UserLoginResponse loginResponseMap(User user){
+    public static UserLoginResponse loginResponseMap(User user, Session session){
         UserLoginResponse response = new UserLoginResponse();
         response.setUsername(user.getUsername());
         response.setId(user.getId());
+        response.setToken(session.getToken());
         return response;
     }
 
-    public static UserLogoutResponse logoutResponseMap(User user){
+    public static UserLogoutResponse logoutResponseMap(Session session){
         UserLogoutResponse response = new UserLogoutResponse();
-        response.setId(user.getId());
-        response.setUsername(user.getUsername());
+        response.setId(session.getUserId());
+        response.setUsername(session.getUsername());
         return response;
     }
 
@@ -71,6 +119,20 @@ public class Mapper {
         return createPostResponse;
     }
 
+    public static PostResponse postResponseMap(Post post){
+        PostResponse postResponse = new PostResponse();
+        postResponse.setId(post.getId());
+        postResponse.setAuthorId(post.getAuthorId());
+        postResponse.setTitle(post.getTitle());
+        postResponse.setContent(post.getContent());
+        postResponse.setDateCreated(post.getDateCreated());
+        postResponse.setViewCount(post.getViewCount());
+        postResponse.setCommentCount(post.getCommentCount());
+        postResponse.setLatestComments(List.copyOf(post.getLatestComments()));
+        postResponse.setVersion(post.getVersion());
+        return postResponse;
+    }
+
     public static DeletePostResponse deletePostResponseMap(Post post){
         DeletePostResponse deletePostResponse = new DeletePostResponse();
         deletePostResponse.setPostId(post.getId());
@@ -78,26 +140,107 @@ public class Mapper {
         return deletePostResponse;
     }
 
-    public static UserPostsResponse allPostResponseMap(User user, List<Post> posts){
-        UserPostsResponse userPostsResponse = new UserPostsResponse();
-        userPostsResponse.setUsername(user.getUsername());
-        userPostsResponse.setPosts(posts);
-        return userPostsResponse;
+    public static UserPostsResponse allPostResponseMap(String username, List<PostSummary> posts, int pageSize){
+        if (posts.size() <= pageSize) return new UserPostsResponse(username, posts, null);
+        posts = posts.subList(0, pageSize);
+        PostSummary last = posts.getLast();
+        return new UserPostsResponse(username, posts, new PageCursor(last.dateCreated(), last.id()).encode());
+    }
+
+    public static PostCommentsResponse postCommentsResponseMap(String postId, List<CommentSummary> comments, int pageSize){
+        if (comments.size() <= pageSize) return new PostCommentsResponse(postId, comments, null);
+        comments = comments.subList(0, pageSize);
+        CommentSummary last = comments.getLast();
+        return new PostCommentsResponse(postId, comments, new PageCursor(last.timeOfComment(), last.id()).encode());
     }
 
-    public static ViewPostResponse viewPostResponseMap(Post post, View view){
+    public static ViewPostResponse viewPostResponseMap(View view){
         ViewPostResponse viewPostResponse = new ViewPostResponse();
-        viewPostResponse.setPostTitle(post.getTitle());
-        viewPostResponse.setViewerName(viewPostResponse.getViewerName());
-        viewPostResponse.setViewerId(view.getId());
+        viewPostResponse.setPostId(view.getPostId());
+        if (view.getViewer() == null) return viewPostResponse;
+        viewPostResponse.setViewerName(view.getViewer().getUsername());
+        viewPostResponse.setViewerId(view.getViewer().getId());
         return viewPostResponse;
     }
 
+    public static Collection<ViewBucket> viewBucketsMap(List<View> views){
+        Map<String, ViewBucket> buckets = new HashMap<>();
+        for (View view : views) {
+            LocalDateTime hour = view.getTimeOfView().truncatedTo(ChronoUnit.HOURS);
+            ViewBucket bucket = buckets.computeIfAbsent(viewBucketId(view.getPostId(), hour), id -> {
+                ViewBucket created = new ViewBucket();
+                created.setId(id);
+                created.setPostId(view.getPostId());
+                created.setHour(hour);
+                return created;
+            });
+            bucket.setCount(bucket.getCount() + 1);
+            if (view.getViewer() == null || view.getViewer().getId() == null) continue;
+            long hash = HyperLogLog.hash(view.getViewer().getId());
+            bucket.getViewers().merge(String.valueOf(HyperLogLog.index(hash)), HyperLogLog.rank(hash), Math::max);
+        }
+        return buckets.values();
+    }
+
+    public static String viewBucketId(String postId, LocalDateTime hour){
+        return postId + "@" + hour.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    public static ViewStatsResponse viewStatsResponseMap(String postId, TimeRange range, List<ViewBucket> buckets){
+        HyperLogLog viewers = new HyperLogLog();
+        long totalViews = 0;
+        for (ViewBucket bucket : buckets) {
+            totalViews += bucket.getCount();
+            bucket.getViewers().forEach((register, rank) -> viewers.merge(Integer.parseInt(register), rank));
+        }
+        ViewStatsResponse viewStatsResponse = new ViewStatsResponse();
+        viewStatsResponse.setPostId(postId);
+        viewStatsResponse.setFrom(range.from());
+        viewStatsResponse.setTo(range.to());
+        viewStatsResponse.setTotalViews(totalViews);
+        viewStatsResponse.setUniqueViewers(Math.min(viewers.estimate(), totalViews));
+        return viewStatsResponse;
+    }
+
     public static CommentPostResponse commentPostResponseMap(Post post, Comment comment){
         CommentPostResponse commentPostResponse = new CommentPostResponse();
         commentPostResponse.setPostTitle(post.getTitle());
-        commentPostResponse.setCommenterName(comment.getCommenter().getUsername());
+        commentPostResponse.setCommenterName(comment.getCommenterName());
         commentPostResponse.setCommenterId(comment.getId());
         return commentPostResponse;
     }
+
+    public static ImportItemResult importSucceeded(int index, String id){
+        ImportItemResult importItemResult = new ImportItemResult();
+        importItemResult.setIndex(index);
+        importItemResult.setSuccessful(true);
+        importItemResult.setId(id);
+        return importItemResult;
+    }
+
+    public static ImportItemResult importFailed(int index, String message){
+        ImportItemResult importItemResult = new ImportItemResult();
+        importItemResult.setIndex(index);
+        importItemResult.setSuccessful(false);
+        importItemResult.setMessage(message);
+        return importItemResult;
+    }
+
+    public static SearchHit searchHitMap(String postId, String title, double score){
+        SearchHit searchHit = new SearchHit();
+        searchHit.setPostId(postId);
+        searchHit.setTitle(title);
+        searchHit.setScore(score);
+        return searchHit;
+    }
+
+    public static SearchResponse searchResponseMap(String query, int page, int size, long totalHits, List<SearchHit> hits){
+        SearchResponse searchResponse = new SearchResponse();
+        searchResponse.setQuery(query);
+        searchResponse.setPage(page);
+        searchResponse.setSize(size);
+        searchResponse.setTotalHits(totalHits);
+        searchResponse.setHits(hits);
+        return searchResponse;
+    }
 }
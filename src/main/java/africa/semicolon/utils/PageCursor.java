@@ -0,0 +1,31 @@
+package africa.semicolon.utils;
+
+import africa.semicolon.exceptions.InvalidCursorException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public record PageCursor(LocalDateTime dateCreated, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String cursor = dateCreated.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) throw new InvalidCursorException("Invalid cursor");
+            return new PageCursor(LocalDateTime.parse(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package africa.semicolon.utils;
+
+import africa.semicolon.exceptions.InvalidTimeRangeException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+public record TimeRange(LocalDateTime from, LocalDateTime to) {
+
+    private static final int DEFAULT_DAYS = 7;
+
+    public static TimeRange parse(String from, String to) {
+        try {
+            LocalDateTime end = to == null || to.isBlank() ? LocalDateTime.now() : LocalDateTime.parse(to);
+            LocalDateTime start = from == null || from.isBlank() ? end.minusDays(DEFAULT_DAYS) : LocalDateTime.parse(from);
+            if (!start.isBefore(end)) throw new InvalidTimeRangeException("'from' must be before 'to'");
+            return new TimeRange(start, end);
+        } catch (DateTimeParseException e) {
+            throw new InvalidTimeRangeException("Invalid time range");
+        }
+    }
+}
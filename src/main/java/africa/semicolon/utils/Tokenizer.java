@@ -0,0 +1,46 @@
+package africa.semicolon.utils;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public final class Tokenizer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it", "no", "not",
+            "of", "on", "or", "such", "that", "the", "their", "then", "there", "these", "they", "this", "to", "was",
+            "will", "with");
+
+    private Tokenizer() {
+    }
+
+    public static void countTerms(String text, int weight, Map<String, Integer> termFrequencies) {
+        forEachTerm(text, term -> termFrequencies.merge(term, weight, Integer::sum));
+    }
+
+    public static Set<String> distinctTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        forEachTerm(text, terms::add);
+        return terms;
+    }
+
+    private static void forEachTerm(String text, Consumer<String> consumer) {
+        if (text == null) return;
+        StringBuilder term = new StringBuilder();
+        for (int index = 0; index <= text.length(); index++) {
+            char character = index < text.length() ? text.charAt(index) : ' ';
+            if (Character.isLetterOrDigit(character)) {
+                term.append(Character.toLowerCase(character));
+                continue;
+            }
+            if (term.length() >= MIN_TERM_LENGTH && term.length() <= MAX_TERM_LENGTH) {
+                String token = term.toString();
+                if (!STOP_WORDS.contains(token)) consumer.accept(token);
+            }
+            term.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package africa.semicolon.controller;
+
+import africa.semicolon.dto.responses.UserLoginResponse;
+import africa.semicolon.ratelimit.RateLimitInterceptor;
+import africa.semicolon.ratelimit.RateLimiter;
+import africa.semicolon.services.UserServices;
+import africa.semicolon.utils.TokenBucket.Limit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class UserControllersTest {
+
+    private final AtomicInteger tokensTaken = new AtomicInteger();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        RateLimiter rateLimiter = new RateLimiter(Caffeine.newBuilder().build(), Limit.of(20, 40), Limit.of(5, 10),
+                100, Duration.ofMinutes(10)) {
+            @Override
+            public long tryAcquire(String endpoint, boolean write, String token, String address) {
+                tokensTaken.incrementAndGet();
+                return super.tryAcquire(endpoint, write, token, address);
+            }
+        };
+        UserControllers userControllers = new UserControllers();
+        ReflectionTestUtils.setField(userControllers, "userServices", loggedInUserServices());
+        ReflectionTestUtils.setField(userControllers, "objectMapper", new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(userControllers)
+                .addInterceptors(new RateLimitInterceptor(rateLimiter, new ObjectMapper()))
+                .build();
+    }
+
+    @Test
+    public void login_takesOneRateLimitToken() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/Blogspot/sign_in")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"username\":\"username\",\"password\":\"password\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(login)).andExpect(status().isAccepted());
+
+        assertEquals(1, tokensTaken.get());
+    }
+
+    private static UserServices loggedInUserServices() {
+        return (UserServices) Proxy.newProxyInstance(UserServices.class.getClassLoader(), new Class<?>[]{UserServices.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("login")) throw new UnsupportedOperationException(method.getName());
+                    UserLoginResponse response = new UserLoginResponse();
+                    response.setUsername("username");
+                    response.setToken("token");
+                    return CompletableFuture.completedFuture(response);
+                });
+    }
+}
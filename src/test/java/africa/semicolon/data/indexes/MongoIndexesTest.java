@@ -0,0 +1,55 @@
+package africa.semicolon.data.indexes;
+
+import africa.semicolon.data.models.User;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MongoIndexesTest {
+
+    private static final String SERVER_USERNAME_INDEX = "{ 'v': 2, 'key': { 'username': 1 }, 'name': 'username_ci', 'unique': true, "
+            + "'collation': { 'locale': 'en', 'caseLevel': false, 'caseFirst': 'off', 'strength': 2, 'numericOrdering': false, "
+            + "'alternate': 'non-ignorable', 'maxVariable': 'punct', 'normalization': false, 'backwards': false, 'version': '57.1' } }";
+
+    @Test
+    public void username_isDeclaredUniqueAndCaseInsensitive() {
+        IndexDefinition username = usernameIndex();
+
+        assertEquals(new Document("username", 1), username.getIndexKeys());
+        assertEquals(true, username.getIndexOptions().get("unique"));
+        assertEquals(2, username.getIndexOptions().get("collation", Document.class).get("strength"));
+    }
+
+    @Test
+    public void serverIndex_matchesDeclaration_onlyWhenKeysAndOptionsAgree() {
+        IndexDefinition username = usernameIndex();
+
+        assertTrue(MongoIndexes.matches(username, Document.parse(SERVER_USERNAME_INDEX)));
+
+        Document notUnique = Document.parse(SERVER_USERNAME_INDEX);
+        notUnique.remove("unique");
+        assertFalse(MongoIndexes.matches(username, notUnique));
+
+        Document caseSensitive = Document.parse(SERVER_USERNAME_INDEX);
+        caseSensitive.remove("collation");
+        assertFalse(MongoIndexes.matches(username, caseSensitive));
+    }
+
+    private static IndexDefinition usernameIndex() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        Iterable<? extends IndexDefinition> indexes = IndexResolver.create(mappingContext).resolveIndexFor(User.class);
+        return StreamSupport.stream(indexes.spliterator(), false)
+                .filter(index -> "username_ci".equals(index.getIndexOptions().get("name")))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,151 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.repositories.CommentRepository;
+import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.data.repositories.UserRepository;
+import africa.semicolon.data.repositories.ViewBucketRepository;
+import africa.semicolon.dto.requests.*;
+import africa.semicolon.dto.responses.BulkImportResponse;
+import africa.semicolon.dto.responses.ImportItemResult;
+import africa.semicolon.exceptions.UserNotLoggedInException;
+import africa.semicolon.utils.MongoCommandCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(MongoCommandCounter.class)
+public class BulkImportTest {
+
+    private static final int POSTS = 2000;
+
+    @Autowired
+    UserServices userServices;
+    @Autowired
+    PostServices postServices;
+    @Autowired
+    CommentServices commentServices;
+    @Autowired
+    ViewServices viewServices;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    ViewBucketRepository viewBucketRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    MongoCommandCounter mongoCommandCounter;
+
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+        postRepository.deleteAll();
+        viewBucketRepository.deleteAll();
+        commentRepository.deleteAll();
+
+        UserRegisterRequest userRegisterRequest = new UserRegisterRequest();
+        userRegisterRequest.setFirstName("Firstname");
+        userRegisterRequest.setLastName("Lastname");
+        userRegisterRequest.setPassword("password");
+        userRegisterRequest.setUsername("username");
+        userServices.register(userRegisterRequest).join();
+
+        UserLoginRequest userLoginRequest = new UserLoginRequest();
+        userLoginRequest.setUsername("username");
+        userLoginRequest.setPassword("password");
+        token = userServices.login(userLoginRequest).join().getToken();
+    }
+
+    @Test
+    public void importThousandsOfPosts_usesFarFewerCommandsThanSinglePosts(){
+        CreatePostRequest createPostRequest = new CreatePostRequest();
+        createPostRequest.setAuthor("username");
+        createPostRequest.setToken(token);
+        createPostRequest.setTitle("Title");
+        createPostRequest.setContent("Content");
+        mongoCommandCounter.reset();
+        for (int count = 0; count < 100; count++) userServices.createPost(createPostRequest);
+        int singlePathCommands = mongoCommandCounter.count() * (POSTS / 100);
+
+        BulkImportRequest bulkImportRequest = newBulkImportRequest();
+        for (int count = 0; count < POSTS; count++) bulkImportRequest.getPosts().add(importPost("Title " + count));
+        mongoCommandCounter.reset();
+        BulkImportResponse response = userServices.bulkImport(bulkImportRequest);
+
+        assertEquals(POSTS, response.getPosts().stream().filter(ImportItemResult::isSuccessful).count());
+        assertEquals(POSTS + 100, userServices.getNoOfUserPosts("username"));
+        assertTrue(mongoCommandCounter.count() * 100 < singlePathCommands, mongoCommandCounter.commands().toString());
+    }
+
+    @Test
+    public void importCommentsAndViews_invalidItemsAreReportedIndividually(){
+        BulkImportRequest bulkImportRequest = newBulkImportRequest();
+        bulkImportRequest.getPosts().add(importPost("Title"));
+        bulkImportRequest.getPosts().add(importPost(" "));
+        String postId = userServices.bulkImport(bulkImportRequest).getPosts().getFirst().getId();
+
+        bulkImportRequest = newBulkImportRequest();
+        bulkImportRequest.getComments().add(importComment(postId, "USERNAME"));
+        bulkImportRequest.getComments().add(importComment(postId, "stranger"));
+        bulkImportRequest.getComments().add(importComment("65a000000000000000000000", "username"));
+        bulkImportRequest.getViews().add(importView(postId, "username"));
+        bulkImportRequest.getViews().add(importView(postId, "username"));
+        bulkImportRequest.getViews().add(importView(postId, "stranger"));
+        BulkImportResponse response = userServices.bulkImport(bulkImportRequest);
+
+        assertEquals(List.of(true, false, false), response.getComments().stream().map(ImportItemResult::isSuccessful).toList());
+        assertEquals(List.of(true, true, false), response.getViews().stream().map(ImportItemResult::isSuccessful).toList());
+        Post post = postServices.findPostById(postId);
+        assertEquals(1, post.getCommentCount());
+        assertEquals(2, post.getViewCount());
+        assertEquals(1, commentServices.countNoOfViews());
+        assertEquals(2, viewServices.countNoOfViews());
+    }
+
+    @Test
+    public void importWithoutLogin_throwsException(){
+        BulkImportRequest bulkImportRequest = newBulkImportRequest();
+        bulkImportRequest.setToken(null);
+        assertThrows(UserNotLoggedInException.class, ()->userServices.bulkImport(bulkImportRequest));
+    }
+
+    private BulkImportRequest newBulkImportRequest() {
+        BulkImportRequest bulkImportRequest = new BulkImportRequest();
+        bulkImportRequest.setAuthor("username");
+        bulkImportRequest.setToken(token);
+        return bulkImportRequest;
+    }
+
+    private static ImportPostRequest importPost(String title) {
+        ImportPostRequest importPostRequest = new ImportPostRequest();
+        importPostRequest.setTitle(title);
+        importPostRequest.setContent("Content");
+        return importPostRequest;
+    }
+
+    private static ImportCommentRequest importComment(String postId, String commenter) {
+        ImportCommentRequest importCommentRequest = new ImportCommentRequest();
+        importCommentRequest.setPostId(postId);
+        importCommentRequest.setCommenter(commenter);
+        importCommentRequest.setComment("Comment on this post");
+        return importCommentRequest;
+    }
+
+    private static ImportViewRequest importView(String postId, String viewer) {
+        ImportViewRequest importViewRequest = new ImportViewRequest();
+        importViewRequest.setPostId(postId);
+        importViewRequest.setViewer(viewer);
+        return importViewRequest;
+    }
+}
@@ -0,0 +1,50 @@
+package africa.semicolon.services;
+
+import africa.semicolon.exceptions.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordServicesImplTest {
+
+    private final PasswordServicesImpl passwordServices = new PasswordServicesImpl(4, 1, 1, new SimpleMeterRegistry());
+
+    @AfterEach
+    public void tearDown() {
+        passwordServices.shutdown();
+    }
+
+    @Test
+    public void hashedPassword_matchesOnlyOriginal() {
+        String hash = passwordServices.hash("password").join();
+
+        assertNotEquals("password", hash);
+        assertTrue(passwordServices.matches("password", hash).join());
+        assertFalse(passwordServices.matches("wrong", hash).join());
+        assertFalse(passwordServices.needsRehash(hash));
+    }
+
+    @Test
+    public void plaintextOrOtherCostPassword_needsRehash() {
+        String hash = passwordServices.hash("password").join();
+        PasswordServicesImpl stronger = new PasswordServicesImpl(5, 1, 1, new SimpleMeterRegistry());
+
+        assertTrue(passwordServices.matches("password", "password").join());
+        assertTrue(passwordServices.needsRehash("password"));
+        assertTrue(stronger.needsRehash(hash));
+        assertTrue(stronger.matches("password", hash).join());
+        stronger.shutdown();
+    }
+
+    @Test
+    public void fullPool_rejectsImmediately() {
+        PasswordServicesImpl slow = new PasswordServicesImpl(14, 1, 1, new SimpleMeterRegistry());
+        slow.hash("running");
+        slow.hash("queued");
+
+        assertThrows(ServiceBusyException.class, () -> slow.hash("rejected"));
+        slow.shutdown();
+    }
+}
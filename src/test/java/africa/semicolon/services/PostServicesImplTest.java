@@ -0,0 +1,302 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.models.Post;
+import africa.semicolon.data.models.RecentComment;
+import africa.semicolon.data.models.User;
+import africa.semicolon.data.models.ViewBucket;
+import africa.semicolon.data.repositories.CommentRepository;
+import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.data.repositories.PostTombstoneRepository;
+import africa.semicolon.data.repositories.UserRepository;
+import africa.semicolon.data.repositories.ViewBucketRepository;
+import africa.semicolon.dto.requests.*;
+import africa.semicolon.dto.responses.CommentSummary;
+import africa.semicolon.dto.responses.PostCommentsResponse;
+import africa.semicolon.dto.responses.ViewStatsResponse;
+import africa.semicolon.exceptions.InvalidSortException;
+import africa.semicolon.exceptions.InvalidTimeRangeException;
+import africa.semicolon.exceptions.PostNotFoundException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class PostServicesImplTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 25;
+
+    @Autowired
+    UserServices userServices;
+    @Autowired
+    PostServices postServices;
+    @Autowired
+    ViewServices viewServices;
+    @Autowired
+    CommentServices commentServices;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    ViewBucketRepository viewBucketRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    TrendingServices trendingServices;
+    @Autowired
+    DeletionServices deletionServices;
+    @Autowired
+    PostTombstoneRepository postTombstoneRepository;
+
+    private User user;
+    private String postId;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+        postRepository.deleteAll();
+        viewBucketRepository.deleteAll();
+        commentRepository.deleteAll();
+        postTombstoneRepository.deleteAll();
+
+        UserRegisterRequest userRegisterRequest = new UserRegisterRequest();
+        userRegisterRequest.setFirstName("Firstname");
+        userRegisterRequest.setLastName("Lastname");
+        userRegisterRequest.setPassword("password");
+        userRegisterRequest.setUsername("username");
+        userServices.register(userRegisterRequest).join();
+
+        UserLoginRequest userLoginRequest = new UserLoginRequest();
+        userLoginRequest.setUsername("username");
+        userLoginRequest.setPassword("password");
+        String token = userServices.login(userLoginRequest).join().getToken();
+
+        CreatePostRequest createPostRequest = new CreatePostRequest();
+        createPostRequest.setAuthor("username");
+        createPostRequest.setTitle("Title");
+        createPostRequest.setContent("Content");
+        createPostRequest.setToken(token);
+        postId = userServices.createPost(createPostRequest).getPostId();
+        user = userServices.findUserByName("username");
+    }
+
+    @Test
+    public void manyThreadsCommentOnOnePost_noCommentIsLost() throws Exception {
+        runConcurrently(() -> {
+            CommentPostRequest commentPostRequest = new CommentPostRequest();
+            commentPostRequest.setPostId(postId);
+            commentPostRequest.setCommenter(user);
+            commentPostRequest.setComment("Comment on this post");
+            return postServices.addComment(commentPostRequest);
+        });
+
+        Post post = postServices.findPostById(postId);
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, post.getCommentCount());
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, commentServices.countNoOfViews());
+    }
+
+    @Test
+    public void manyThreadsCommentAndDeleteComments_onlyRemainingCommentsAreReferenced() throws Exception {
+        runConcurrently(() -> {
+            CommentPostRequest commentPostRequest = new CommentPostRequest();
+            commentPostRequest.setPostId(postId);
+            commentPostRequest.setCommenter(user);
+            commentPostRequest.setComment("Comment on this post");
+            postServices.addComment(commentPostRequest);
+            return postServices.addComment(commentPostRequest);
+        });
+        List<String> commentIds = commentRepository.findAll().stream()
+                .map(comment -> comment.getId())
+                .toList();
+
+        List<Callable<Object>> deletions = new ArrayList<>();
+        for (String commentId : commentIds.subList(0, commentIds.size() / 2)) {
+            deletions.add(() -> {
+                DeleteCommentRequest deleteCommentRequest = new DeleteCommentRequest();
+                deleteCommentRequest.setPostId(postId);
+                deleteCommentRequest.setCommentId(commentId);
+                return postServices.deleteComment(deleteCommentRequest);
+            });
+        }
+        runAll(deletions);
+
+        Post post = postServices.findPostById(postId);
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, post.getCommentCount());
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, commentServices.countNoOfViews());
+    }
+
+    @Test
+    public void commentsArePagedNewestFirst_postKeepsOnlyLatestComments(){
+        for (int count = 0; count < 5; count++) {
+            CommentPostRequest commentPostRequest = new CommentPostRequest();
+            commentPostRequest.setPostId(postId);
+            commentPostRequest.setCommenter(user);
+            commentPostRequest.setComment("Comment " + count);
+            postServices.addComment(commentPostRequest);
+        }
+
+        PostCommentsResponse firstPage = userServices.getPostComments(postId, null, 2);
+        PostCommentsResponse secondPage = userServices.getPostComments(postId, firstPage.nextCursor(), 2);
+        PostCommentsResponse lastPage = userServices.getPostComments(postId, secondPage.nextCursor(), 2);
+
+        assertEquals(List.of("Comment 4", "Comment 3"), firstPage.comments().stream().map(CommentSummary::comment).toList());
+        assertEquals(List.of("Comment 2", "Comment 1"), secondPage.comments().stream().map(CommentSummary::comment).toList());
+        assertEquals(List.of("Comment 0"), lastPage.comments().stream().map(CommentSummary::comment).toList());
+        assertNull(lastPage.nextCursor());
+        assertEquals("username", firstPage.comments().getFirst().commenterName());
+
+        Post post = postServices.findPostById(postId);
+        assertEquals(5, post.getCommentCount());
+        assertEquals(List.of("Comment 2", "Comment 3", "Comment 4"), post.getLatestComments().stream().map(RecentComment::getComment).toList());
+        assertThrows(PostNotFoundException.class, ()->userServices.getPostComments("65a000000000000000000000", null, 2));
+    }
+
+    @Test
+    public void viewedAndCommentedPost_leadsTrendingAndPopularPosts(){
+        Post quietPost = new Post();
+        quietPost.setTitle("Quiet");
+        quietPost.setAuthorId(user.getId());
+        postServices.addPost(quietPost);
+
+        ViewPostRequest viewPostRequest = new ViewPostRequest();
+        viewPostRequest.setPostId(postId);
+        viewPostRequest.setViewer(user);
+        postServices.addView(viewPostRequest);
+        CommentPostRequest commentPostRequest = new CommentPostRequest();
+        commentPostRequest.setPostId(postId);
+        commentPostRequest.setCommenter(user);
+        commentPostRequest.setComment("Comment on this post");
+        postServices.addComment(commentPostRequest);
+        viewServices.flushViews();
+        trendingServices.reconcile();
+
+        assertEquals(postId, postServices.findTrendingPosts(10).getFirst().getPostId());
+        assertEquals("Title", postServices.findTrendingPosts(10).getFirst().getTitle());
+        assertEquals(postId, postServices.findPopularPosts("views", 10).getFirst().id());
+        assertEquals(postId, postServices.findPopularPosts("comments", 10).getFirst().id());
+        assertThrows(InvalidSortException.class, ()->postServices.findPopularPosts("likes", 10));
+    }
+
+    @Test
+    public void repeatedViews_areCountedOnce_bucketedByHour_statsCountTotalAndUniqueViewers(){
+        User otherViewer = new User();
+        otherViewer.setId("65a000000000000000000001");
+        ViewPostRequest viewPostRequest = new ViewPostRequest();
+        viewPostRequest.setPostId(postId);
+        viewPostRequest.setViewer(user);
+        for (int count = 0; count < 3; count++) postServices.addView(viewPostRequest);
+        viewPostRequest.setViewer(otherViewer);
+        postServices.addView(viewPostRequest);
+        viewServices.flushViews();
+
+        ViewStatsResponse stats = userServices.getViewStats(postId, null, null);
+
+        assertEquals(2, stats.getTotalViews());
+        assertEquals(2, stats.getUniqueViewers());
+        assertEquals(2, postServices.findPostById(postId).getViewCount());
+        assertEquals(1, viewBucketRepository.count());
+        assertEquals(0, userServices.getViewStats(postId, null, LocalDateTime.now().minusDays(1).toString()).getTotalViews());
+        assertThrows(InvalidTimeRangeException.class, ()->userServices.getViewStats(postId, "yesterday", null));
+        assertThrows(PostNotFoundException.class, ()->userServices.getViewStats("65a000000000000000000000", null, null));
+    }
+
+    @Test
+    public void manyThreadsViewOnePost_viewCountIsExact() throws Exception {
+        runConcurrently(() -> {
+            User viewer = new User();
+            viewer.setId(new ObjectId().toHexString());
+            ViewPostRequest viewPostRequest = new ViewPostRequest();
+            viewPostRequest.setPostId(postId);
+            viewPostRequest.setViewer(viewer);
+            return postServices.addView(viewPostRequest);
+        });
+        viewServices.flushViews();
+
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, postServices.findPostById(postId).getViewCount());
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, viewServices.countNoOfViews());
+    }
+
+    @Test
+    public void deletedPost_viewsAndCommentsAreReclaimedInTheBackground(){
+        ViewPostRequest viewPostRequest = new ViewPostRequest();
+        viewPostRequest.setPostId(postId);
+        viewPostRequest.setViewer(user);
+        CommentPostRequest commentPostRequest = new CommentPostRequest();
+        commentPostRequest.setPostId(postId);
+        commentPostRequest.setCommenter(user);
+        commentPostRequest.setComment("Comment on this post");
+        for (int count = 0; count < 3; count++) {
+            postServices.addView(viewPostRequest);
+            postServices.addComment(commentPostRequest);
+        }
+        viewServices.flushViews();
+
+        postServices.deletePost(postServices.findPostById(postId));
+        assertEquals(1, postTombstoneRepository.count());
+        deletionServices.reclaimDeletedPosts();
+
+        assertEquals(0, viewBucketRepository.count());
+        assertEquals(0, commentRepository.count());
+        assertEquals(0, postTombstoneRepository.count());
+    }
+
+    @Test
+    public void orphanedViews_areSweptThenReclaimed(){
+        ViewBucket orphan = new ViewBucket();
+        orphan.setPostId("65a000000000000000000000");
+        orphan.setHour(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS));
+        orphan.setCount(1);
+        viewBucketRepository.save(orphan);
+        ViewPostRequest viewPostRequest = new ViewPostRequest();
+        viewPostRequest.setPostId(postId);
+        viewPostRequest.setViewer(user);
+        postServices.addView(viewPostRequest);
+        viewServices.flushViews();
+
+        assertEquals(1, deletionServices.sweepOrphans());
+        deletionServices.reclaimDeletedPosts();
+
+        assertEquals(1, viewBucketRepository.count());
+        assertEquals(postId, viewBucketRepository.findAll().getFirst().getPostId());
+    }
+
+    @Test
+    public void commentOnMissingPost_throwsException_commentIsNotKept(){
+        CommentPostRequest commentPostRequest = new CommentPostRequest();
+        commentPostRequest.setPostId("65a000000000000000000000");
+        commentPostRequest.setCommenter(user);
+        commentPostRequest.setComment("Comment on this post");
+
+        assertThrows(PostNotFoundException.class, ()->postServices.addComment(commentPostRequest));
+        assertEquals(0, commentServices.countNoOfViews());
+    }
+
+    private void runConcurrently(Callable<Object> operation) throws Exception {
+        List<Callable<Object>> operations = new ArrayList<>();
+        for (int count = 0; count < THREADS * OPERATIONS_PER_THREAD; count++) operations.add(operation);
+        runAll(operations);
+    }
+
+    private void runAll(List<Callable<Object>> operations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Object> result : executor.invokeAll(operations)) result.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
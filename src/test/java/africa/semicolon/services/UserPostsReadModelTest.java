@@ -0,0 +1,144 @@
+package africa.semicolon.services;
+
+import africa.semicolon.data.models.User;
+import africa.semicolon.data.repositories.CommentRepository;
+import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.data.repositories.UserRepository;
+import africa.semicolon.data.repositories.ViewBucketRepository;
+import africa.semicolon.dto.requests.*;
+import africa.semicolon.dto.responses.CreatePostResponse;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.dto.responses.UserPostsResponse;
+import africa.semicolon.exceptions.InvalidCursorException;
+import africa.semicolon.utils.MongoCommandCounter;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(MongoCommandCounter.class)
+public class UserPostsReadModelTest {
+
+    @Autowired
+    UserServices userServices;
+    @Autowired
+    ViewServices viewServices;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    ViewBucketRepository viewBucketRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    MongoCommandCounter mongoCommandCounter;
+
+    private CreatePostRequest createPostRequest;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+        postRepository.deleteAll();
+        viewBucketRepository.deleteAll();
+        commentRepository.deleteAll();
+
+        UserRegisterRequest userRegisterRequest = new UserRegisterRequest();
+        userRegisterRequest.setFirstName("Firstname");
+        userRegisterRequest.setLastName("Lastname");
+        userRegisterRequest.setPassword("password");
+        userRegisterRequest.setUsername("username");
+        userServices.register(userRegisterRequest).join();
+
+        UserLoginRequest userLoginRequest = new UserLoginRequest();
+        userLoginRequest.setUsername("username");
+        userLoginRequest.setPassword("password");
+        String token = userServices.login(userLoginRequest).join().getToken();
+
+        createPostRequest = new CreatePostRequest();
+        createPostRequest.setAuthor("username");
+        createPostRequest.setTitle("Title");
+        createPostRequest.setContent("Content ".repeat(50));
+        createPostRequest.setToken(token);
+    }
+
+    @Test
+    public void userWithManyActivePosts_allPostsIsTwoMongoCommands(){
+        User user = userServices.findUserByName("username");
+        for (int count = 0; count < 20; count++) {
+            CreatePostResponse post = userServices.createPost(createPostRequest);
+            for (int activity = 0; activity < 3; activity++) {
+                CommentPostRequest commentPostRequest = new CommentPostRequest();
+                commentPostRequest.setPostId(post.getPostId());
+                commentPostRequest.setCommenter(user);
+                commentPostRequest.setComment("Comment on this post");
+                userServices.addComment(commentPostRequest);
+
+                User viewer = new User();
+                viewer.setId(new ObjectId().toHexString());
+                ViewPostRequest viewPostRequest = new ViewPostRequest();
+                viewPostRequest.setPostId(post.getPostId());
+                viewPostRequest.setViewer(viewer);
+                userServices.viewPost(viewPostRequest);
+            }
+        }
+        viewServices.flushViews();
+
+        mongoCommandCounter.reset();
+        UserPostsResponse response = userServices.getUserPosts("username", null, 20);
+
+        assertEquals(2, mongoCommandCounter.count(), mongoCommandCounter.commands().toString());
+        assertEquals(20, response.posts().size());
+        PostSummary summary = response.posts().getFirst();
+        assertEquals("Title", summary.title());
+        assertEquals(140, summary.snippet().length());
+        assertEquals(3, summary.commentCount());
+        assertEquals(3, summary.viewCount());
+    }
+
+    @Test
+    public void userWithFivePosts_pagesOfTwo_everyPostReturnedOnce(){
+        for (int count = 0; count < 5; count++) userServices.createPost(createPostRequest);
+
+        Set<String> postIds = new HashSet<>();
+        UserPostsResponse page = userServices.getUserPosts("username", null, 2);
+        int pages = 1;
+        page.posts().forEach(post -> postIds.add(post.id()));
+        while (page.nextCursor() != null) {
+            page = userServices.getUserPosts("username", page.nextCursor(), 2);
+            page.posts().forEach(post -> postIds.add(post.id()));
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(5, postIds.size());
+    }
+
+    @Test
+    public void tamperedCursor_throwsException(){
+        assertThrows(InvalidCursorException.class, ()->userServices.getUserPosts("username", "not a cursor!", 2));
+    }
+
+    @Test
+    public void postCreation_mongoCommandsDoNotGrowWithAuthorHistory(){
+        userServices.createPost(createPostRequest);
+        mongoCommandCounter.reset();
+        userServices.createPost(createPostRequest);
+        int commandsForSecondPost = mongoCommandCounter.count();
+
+        for (int count = 0; count < 200; count++) userServices.createPost(createPostRequest);
+        mongoCommandCounter.reset();
+        userServices.createPost(createPostRequest);
+
+        assertEquals(commandsForSecondPost, mongoCommandCounter.count(), mongoCommandCounter.commands().toString());
+        assertEquals(203, userServices.getNoOfUserPosts("username"));
+    }
+}
@@ -4,10 +4,13 @@ import africa.semicolon.data.models.Comment;
 import africa.semicolon.data.models.Post;
 import africa.semicolon.data.models.User;
 import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.data.repositories.SessionRepository;
 import africa.semicolon.data.repositories.UserRepository;
-import africa.semicolon.data.repositories.ViewRepository;
+import africa.semicolon.data.repositories.ViewBucketRepository;
 import africa.semicolon.dto.requests.*;
+import africa.semicolon.dto.responses.PostSummary;
 import africa.semicolon.exceptions.InvalidPasswordException;
+import africa.semicolon.exceptions.PostNotFoundException;
 import africa.semicolon.exceptions.UserAlreadyExistException;
 import africa.semicolon.exceptions.UserNotLoggedInException;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,7 +35,9 @@ public class UserServicesImplTest {
     @Autowired
     PostRepository postRepository;
     @Autowired
-    ViewRepository viewRepository;
+    ViewBucketRepository viewBucketRepository;
+    @Autowired
+    SessionRepository sessionRepository;
     @Autowired
     ViewServices viewServices;
     @Autowired
@@ -51,7 +57,8 @@ public class UserServicesImplTest {
     public void setUp() {
         userRepository.deleteAll();
         postRepository.deleteAll();
-        viewRepository.deleteAll();
+        viewBucketRepository.deleteAll();
+        sessionRepository.deleteAll();
 
         userRegisterRequest = new UserRegisterRequest();
         userRegisterRequest.setFirstName("Firstname");
@@ -74,61 +81,63 @@ public class UserServicesImplTest {
 
     @Test
     public void registerOneUser_userCountIsOne(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1, userRepository.count());
     }
 
     @Test
     public void registerOneUser_anotherUserCantUseSameUsername_throwException(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1, userRepository.count());
         assertThrows(UserAlreadyExistException.class, ()->userServices.register(userRegisterRequest));
     }
 
     @Test
     public void registerOneUser_userCanLogin(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1, userServices.countNoOfUsers());
         assertFalse(userServices.isUserLoggedIn("username"));
 
-        userServices.login(userLoginRequest);
+        userServices.login(userLoginRequest).join();
         assertTrue(userServices.isUserLoggedIn("useRNAME"));
     }
 
     @Test
     public void registerOneUser_userCantLoginWithWrongDetails(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1, userServices.countNoOfUsers());
         assertFalse(userServices.isUserLoggedIn("username"));
 
         UserLoginRequest userLoginRequest = new UserLoginRequest();
         userLoginRequest.setUsername("userNAME");
         userLoginRequest.setPassword("wrongPassword");
-        assertThrows(InvalidPasswordException.class, ()->userServices.login(userLoginRequest));
+        CompletionException e = assertThrows(CompletionException.class, ()->userServices.login(userLoginRequest).join());
+        assertInstanceOf(InvalidPasswordException.class, e.getCause());
     }
 
     @Test
     public void registerOneUser_userCanLogin_userCanLogout(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1, userServices.countNoOfUsers());
         assertFalse(userServices.isUserLoggedIn("username"));
 
-        userServices.login(userLoginRequest);
+        String token = userServices.login(userLoginRequest).join().getToken();
 
         assertTrue(userServices.isUserLoggedIn("useRNAME"));
 
         UserLogoutRequest userLogoutRequest = new UserLogoutRequest();
         userLogoutRequest.setUsername("username");
+        userLogoutRequest.setToken(token);
         userServices.logout(userLogoutRequest);
         assertFalse(userServices.isUserLoggedIn("username"));
     }
 
     @Test
     public void registerOneUser_userCanCreatePost(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1L, userServices.countNoOfUsers());
 
-        userServices.login(userLoginRequest);
+        createPostRequest.setToken(userServices.login(userLoginRequest).join().getToken());
         assertTrue(userServices.isUserLoggedIn("useRNAME"));
 
         userServices.createPost(createPostRequest);
@@ -138,7 +147,7 @@ public class UserServicesImplTest {
 
     @Test
     public void registerOneUser_userCantCreatePostWithoutLogin_throwsException(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1L, userServices.countNoOfUsers());
 
         assertThrows(UserNotLoggedInException.class, ()->userServices.createPost(createPostRequest));
@@ -147,33 +156,54 @@ public class UserServicesImplTest {
 
     @Test
     public void registerOneUser_userCanCreatePost_userCanDeletePost(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1L, userServices.countNoOfUsers());
 
-        userServices.login(userLoginRequest);
+        createPostRequest.setToken(userServices.login(userLoginRequest).join().getToken());
         assertTrue(userServices.isUserLoggedIn("useRNAME"));
 
-        userServices.createPost(createPostRequest);
+        String postId = userServices.createPost(createPostRequest).getPostId();
         assertEquals(1, userServices.getNoOfUserPosts("username"));
         assertEquals(1, postServices.countNoOfPosts());
 
-        User user = userServices.findUserByName("username");
-
         DeletePostRequest deletePostRequest = new DeletePostRequest();
         deletePostRequest.setAuthor("username");
-        deletePostRequest.setPostId(user.getPosts().get(0).getId());
+        deletePostRequest.setToken(createPostRequest.getToken());
+        deletePostRequest.setPostId(postId);
         userServices.deletePost(deletePostRequest);
 
         assertEquals(0, postServices.countNoOfPosts());
         assertEquals(0, userServices.getNoOfUserPosts("username"));
     }
 
+    @Test
+    public void registerTwoUsers_userCannotDeleteAnotherUsersPost(){
+        userServices.register(userRegisterRequest).join();
+        createPostRequest.setToken(userServices.login(userLoginRequest).join().getToken());
+        String postId = userServices.createPost(createPostRequest).getPostId();
+
+        UserRegisterRequest otherRegisterRequest = new UserRegisterRequest();
+        otherRegisterRequest.setUsername("otherUser");
+        otherRegisterRequest.setPassword("password");
+        userServices.register(otherRegisterRequest).join();
+        UserLoginRequest otherLoginRequest = new UserLoginRequest();
+        otherLoginRequest.setUsername("otherUser");
+        otherLoginRequest.setPassword("password");
+
+        DeletePostRequest deletePostRequest = new DeletePostRequest();
+        deletePostRequest.setAuthor("otherUser");
+        deletePostRequest.setToken(userServices.login(otherLoginRequest).join().getToken());
+        deletePostRequest.setPostId(postId);
+        assertThrows(UserNotLoggedInException.class, ()->userServices.deletePost(deletePostRequest));
+        assertEquals(1, postServices.countNoOfPosts());
+    }
+
     @Test
     public void userRegister_create3Post_userCanFindAllPost(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1L, userServices.countNoOfUsers());
 
-        userServices.login(userLoginRequest);
+        createPostRequest.setToken(userServices.login(userLoginRequest).join().getToken());
         assertTrue(userServices.isUserLoggedIn("useRNAME"));
 
         userServices.createPost(createPostRequest);
@@ -181,50 +211,70 @@ public class UserServicesImplTest {
         userServices.createPost(createPostRequest);
         assertEquals(3, userServices.getNoOfUserPosts("username"));
 
-        User user = userServices.findUserByName("username");
-
-        List<Post> posts = user.getPosts();
+        List<PostSummary> posts = userServices.getUserPosts("username", null, 20).posts();
         assertEquals(posts.size(), userServices.getNoOfUserPosts("username"));
     }
 
     @Test
     public void onePostCreated_userCanViewPost(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1L, userServices.countNoOfUsers());
 
-        userServices.login(userLoginRequest);
+        createPostRequest.setToken(userServices.login(userLoginRequest).join().getToken());
         assertTrue(userServices.isUserLoggedIn("useRNAME"));
 
-        userServices.createPost(createPostRequest);
+        String postId = userServices.createPost(createPostRequest).getPostId();
         assertEquals(1, postServices.countNoOfPosts());
 
         User user = userServices.findUserByName("username");
-        Post post = postServices.findPostById(user.getPosts().getFirst().getId());
-        assertEquals(0, post.getViews().size());
+        Post post = postServices.findPostById(postId);
+        assertEquals(0, post.getViewCount());
 
         viewPostRequest.setViewer(user);
         viewPostRequest.setPostId(post.getId());
         userServices.viewPost(viewPostRequest);
+        viewServices.flushViews();
 
-        post = postServices.findPostById(user.getPosts().getFirst().getId());
-        assertEquals(1, post.getViews().size());
+        post = postServices.findPostById(postId);
+        assertEquals(1, post.getViewCount());
         assertEquals(1L, viewServices.countNoOfViews());
     }
 
+    @Test
+    public void onePostCreated_eachWriteBumpsPostVersion(){
+        userServices.register(userRegisterRequest).join();
+        createPostRequest.setToken(userServices.login(userLoginRequest).join().getToken());
+        String postId = userServices.createPost(createPostRequest).getPostId();
+        assertEquals(0, userServices.getPostVersion(postId));
+
+        viewPostRequest.setViewer(userServices.findUserByName("username"));
+        viewPostRequest.setPostId(postId);
+        userServices.viewPost(viewPostRequest);
+        viewServices.flushViews();
+        commentPostRequest.setCommenter(userServices.findUserByName("username"));
+        commentPostRequest.setPostId(postId);
+        commentPostRequest.setComment("Comment on this post");
+        userServices.addComment(commentPostRequest);
+
+        assertEquals(2, userServices.getPostVersion(postId));
+        assertEquals(2, userServices.getPost(postId).getVersion());
+        assertThrows(PostNotFoundException.class, ()->userServices.getPostVersion("65a000000000000000000000"));
+    }
+
     @Test
     public void onePostCreated_userCanCommentOnPost(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
         assertEquals(1L, userServices.countNoOfUsers());
 
-        userServices.login(userLoginRequest);
+        createPostRequest.setToken(userServices.login(userLoginRequest).join().getToken());
         assertTrue(userServices.isUserLoggedIn("useRNAME"));
 
-        userServices.createPost(createPostRequest);
+        String postId = userServices.createPost(createPostRequest).getPostId();
         assertEquals(1, postServices.countNoOfPosts());
  
         User user = userServices.findUserByName("username");
-        Post post = postServices.findPostById(user.getPosts().getFirst().getId());
-        assertEquals(0, post.getViews().size());
+        Post post = postServices.findPostById(postId);
+        assertEquals(0, post.getViewCount());
 
         commentPostRequest.setCommenter(user);
         commentPostRequest.setPostId(post.getId());
@@ -232,21 +282,21 @@ public class UserServicesImplTest {
         userServices.addComment(commentPostRequest);
 
 
-        post = postServices.findPostById(user.getPosts().getFirst().getId());
-        assertEquals(1, post.getComments().size());
+        post = postServices.findPostById(postId);
+        assertEquals(1, post.getCommentCount());
         assertEquals(1L, commentServices.countNoOfViews());
     }
 
      @Test
     public void onePostCreated_userCanCommentOnPost_userCanDeleteComment(){
-        userServices.register(userRegisterRequest);
+        userServices.register(userRegisterRequest).join();
 
-        userServices.login(userLoginRequest);
+        createPostRequest.setToken(userServices.login(userLoginRequest).join().getToken());
 
-        userServices.createPost(createPostRequest);
+        String postId = userServices.createPost(createPostRequest).getPostId();
 
         User user = userServices.findUserByName("username");
-        Post post = postServices.findPostById(user.getPosts().get(0).getId());
+        Post post = postServices.findPostById(postId);
 
         commentPostRequest.setCommenter(user);
         commentPostRequest.setPostId(post.getId());
@@ -254,17 +304,17 @@ public class UserServicesImplTest {
         userServices.addComment(commentPostRequest);
 
 
-        post = postServices.findPostById(user.getPosts().get(0).getId());
+        post = postServices.findPostById(postId);
 
-        Comment comment = commentServices.findCommentById(post.getComments().get(0).getId());
+        Comment comment = commentServices.findCommentById(post.getLatestComments().get(0).getCommentId());
 
         DeleteCommentRequest deleteCommentREquest = new DeleteCommentRequest();
         deleteCommentREquest.setPostId(post.getId());
         deleteCommentREquest.setCommentId(comment.getId());
         userServices.deleteComment(deleteCommentREquest);
 
-        post = postServices.findPostById(user.getPosts().get(0).getId());
-        assertEquals(0, post.getComments().size());
+        post = postServices.findPostById(postId);
+        assertEquals(0, post.getCommentCount());
         assertEquals(0, commentServices.countNoOfViews());
     }
 }
\ No newline at end of file
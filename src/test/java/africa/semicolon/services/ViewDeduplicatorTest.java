@@ -0,0 +1,47 @@
+package africa.semicolon.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewDeduplicatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void repeatedViewInsideWindow_isSuppressed_otherPairsAreNot() {
+        ViewDeduplicator deduplicator = new ViewDeduplicator(Duration.ofMinutes(30), 1000, 0.001, meterRegistry);
+
+        assertFalse(deduplicator.isRepeat("post1", "viewer1"));
+        assertTrue(deduplicator.isRepeat("post1", "viewer1"));
+        assertFalse(deduplicator.isRepeat("post1", "viewer2"));
+        assertFalse(deduplicator.isRepeat("post2", "viewer1"));
+        assertFalse(deduplicator.isRepeat("post1", null));
+        assertFalse(deduplicator.isRepeat("post1", null));
+
+        assertEquals(1.0 / 6, meterRegistry.get("blog.views.dedup.suppression.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    public void fullGenerations_rotateOut_viewerCountsAgain() {
+        ViewDeduplicator deduplicator = new ViewDeduplicator(Duration.ofMinutes(30), 10, 0.001, meterRegistry);
+        assertFalse(deduplicator.isRepeat("post1", "viewer0"));
+
+        for (int viewer = 1; viewer < 10; viewer++) deduplicator.isRepeat("post1", "viewer" + viewer);
+        assertTrue(deduplicator.isRepeat("post1", "viewer0"));
+        for (int viewer = 10; viewer < 20; viewer++) deduplicator.isRepeat("post1", "viewer" + viewer);
+
+        assertFalse(deduplicator.isRepeat("post1", "viewer0"));
+    }
+
+    @Test
+    public void zeroWindow_disablesDeduplication() {
+        ViewDeduplicator deduplicator = new ViewDeduplicator(Duration.ZERO, 1000, 0.001, meterRegistry);
+
+        assertFalse(deduplicator.isRepeat("post1", "viewer1"));
+        assertFalse(deduplicator.isRepeat("post1", "viewer1"));
+    }
+}
@@ -0,0 +1,144 @@
+package africa.semicolon.services.reactive;
+
+import africa.semicolon.data.models.User;
+import africa.semicolon.data.repositories.CommentRepository;
+import africa.semicolon.data.repositories.PostRepository;
+import africa.semicolon.data.repositories.SessionRepository;
+import africa.semicolon.data.repositories.UserRepository;
+import africa.semicolon.dto.requests.*;
+import africa.semicolon.dto.responses.CommentPostResponse;
+import africa.semicolon.dto.responses.CreatePostResponse;
+import africa.semicolon.dto.responses.PostSummary;
+import africa.semicolon.dto.responses.UserPostsResponse;
+import africa.semicolon.exceptions.InvalidPasswordException;
+import africa.semicolon.exceptions.PostNotFoundException;
+import africa.semicolon.exceptions.UserAlreadyExistException;
+import africa.semicolon.exceptions.UserNotLoggedInException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+public class ReactiveUserServicesImplTest {
+
+    @Autowired
+    ReactiveUserServices userServices;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    SessionRepository sessionRepository;
+
+    private UserRegisterRequest userRegisterRequest;
+    private UserLoginRequest userLoginRequest;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+        postRepository.deleteAll();
+        commentRepository.deleteAll();
+        sessionRepository.deleteAll();
+
+        userRegisterRequest = new UserRegisterRequest();
+        userRegisterRequest.setFirstName("Firstname");
+        userRegisterRequest.setLastName("Lastname");
+        userRegisterRequest.setUsername("reactive");
+        userRegisterRequest.setPassword("password");
+
+        userLoginRequest = new UserLoginRequest();
+        userLoginRequest.setUsername("reactive");
+        userLoginRequest.setPassword("password");
+    }
+
+    @Test
+    public void registerTwice_secondRegistrationFailsTest() {
+        userServices.register(userRegisterRequest).block();
+        assertEquals(1, userRepository.count());
+        assertThrows(UserAlreadyExistException.class, () -> userServices.register(userRegisterRequest).block());
+    }
+
+    @Test
+    public void loginWithWrongPassword_throwsTest() {
+        userServices.register(userRegisterRequest).block();
+        userLoginRequest.setPassword("wrong");
+        assertThrows(InvalidPasswordException.class, () -> userServices.login(userLoginRequest).block());
+    }
+
+    @Test
+    public void createPostWithoutSession_throwsTest() {
+        userServices.register(userRegisterRequest).block();
+        assertThrows(UserNotLoggedInException.class, () -> userServices.createPost(createPostRequest("not a token", 0)).block());
+    }
+
+    @Test
+    public void createPosts_pagesAndStreamsNewestFirstTest() {
+        userServices.register(userRegisterRequest).block();
+        String token = userServices.login(userLoginRequest).block().getToken();
+        for (int i = 0; i < 5; i++) userServices.createPost(createPostRequest(token, i)).block();
+
+        UserPostsResponse firstPage = userServices.getUserPosts("reactive", null, 3).block();
+        assertEquals(3, firstPage.posts().size());
+        assertEquals("Title 4", firstPage.posts().getFirst().title());
+        assertNotNull(firstPage.nextCursor());
+
+        UserPostsResponse secondPage = userServices.getUserPosts("reactive", firstPage.nextCursor(), 3).block();
+        assertEquals(2, secondPage.posts().size());
+        assertNull(secondPage.nextCursor());
+
+        List<PostSummary> streamed = userServices.streamUserPosts("reactive").collectList().block();
+        assertEquals(5, streamed.size());
+    }
+
+    @Test
+    public void addAndDeleteComment_updatesPostTest() {
+        userServices.register(userRegisterRequest).block();
+        String token = userServices.login(userLoginRequest).block().getToken();
+        CreatePostResponse post = userServices.createPost(createPostRequest(token, 0)).block();
+        User commenter = userServices.findUserByName("reactive").block();
+
+        CommentPostRequest commentPostRequest = new CommentPostRequest();
+        commentPostRequest.setPostId(post.getPostId());
+        commentPostRequest.setCommenter(commenter);
+        commentPostRequest.setComment("Nice post");
+        CommentPostResponse added = userServices.addComment(commentPostRequest).block();
+        assertEquals(1, postRepository.findById(post.getPostId()).orElseThrow().getCommentCount());
+
+        DeleteCommentRequest deleteCommentRequest = new DeleteCommentRequest();
+        deleteCommentRequest.setPostId(post.getPostId());
+        deleteCommentRequest.setCommentId(added.getCommenterId());
+        CommentPostResponse deleted = userServices.deleteComment(deleteCommentRequest).block();
+        assertEquals("reactive", deleted.getCommenterName());
+        assertEquals(0, postRepository.findById(post.getPostId()).orElseThrow().getCommentCount());
+        assertEquals(0, commentRepository.count());
+    }
+
+    @Test
+    public void commentOnMissingPost_throwsAndLeavesNoCommentTest() {
+        userServices.register(userRegisterRequest).block();
+        CommentPostRequest commentPostRequest = new CommentPostRequest();
+        commentPostRequest.setPostId("65a000000000000000000000");
+        commentPostRequest.setCommenter(userServices.findUserByName("reactive").block());
+        commentPostRequest.setComment("Nice post");
+        assertThrows(PostNotFoundException.class, () -> userServices.addComment(commentPostRequest).block());
+        assertEquals(0, commentRepository.count());
+    }
+
+    private static CreatePostRequest createPostRequest(String token, int index) {
+        CreatePostRequest createPostRequest = new CreatePostRequest();
+        createPostRequest.setAuthor("reactive");
+        createPostRequest.setToken(token);
+        createPostRequest.setTitle("Title " + index);
+        createPostRequest.setContent("Content " + index);
+        return createPostRequest;
+    }
+}
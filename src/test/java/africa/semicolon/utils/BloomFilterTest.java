@@ -0,0 +1,33 @@
+package africa.semicolon.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    public void addedHashes_areAlwaysFound_andReportedAsRepeats() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int viewer = 0; viewer < 10_000; viewer++) filter.add(HyperLogLog.hash("viewer" + viewer));
+
+        for (int viewer = 0; viewer < 10_000; viewer++) {
+            assertTrue(filter.mightContain(HyperLogLog.hash("viewer" + viewer)));
+            assertFalse(filter.add(HyperLogLog.hash("viewer" + viewer)));
+        }
+    }
+
+    @Test
+    public void filledToExpectedInsertions_falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int viewer = 0; viewer < 100_000; viewer++) filter.add(HyperLogLog.hash("viewer" + viewer));
+
+        int falsePositives = 0;
+        for (int stranger = 0; stranger < 100_000; stranger++) {
+            if (filter.mightContain(HyperLogLog.hash("stranger" + stranger))) falsePositives++;
+        }
+
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+        assertEquals(119_816, filter.sizeInBytes(), Long.BYTES);
+    }
+}
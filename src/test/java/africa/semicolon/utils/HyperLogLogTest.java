@@ -0,0 +1,31 @@
+package africa.semicolon.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void emptySketch_estimatesZero() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    public void repeatedValues_areCountedOnce() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int repeat = 0; repeat < 100; repeat++) {
+            for (int viewer = 0; viewer < 10; viewer++) sketch.add(HyperLogLog.hash("viewer" + viewer));
+        }
+
+        assertEquals(10, sketch.estimate());
+    }
+
+    @Test
+    public void manyDistinctValues_estimateIsWithinFivePercent() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int viewer = 0; viewer < 100_000; viewer++) sketch.add(HyperLogLog.hash("viewer" + viewer));
+
+        assertEquals(100_000, sketch.estimate(), 5_000);
+    }
+}
@@ -0,0 +1,79 @@
+package africa.semicolon.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new InvertedIndex(1.2, 0.75, 3);
+    }
+
+    @Test
+    public void search_ranksRarerAndTitleMatchesFirst() {
+        index.put("1", "Cooking rice", "How to cook jollof rice for a crowd");
+        index.put("2", "Travel notes", "The rice fields of Ifugao and the food we ate");
+        index.put("3", "Travel notes", "Lagos traffic and the food we ate");
+
+        InvertedIndex.Result result = index.search("jollof rice", 0, 10);
+
+        assertEquals(2, result.totalHits());
+        assertEquals(List.of("1", "2"), result.hits().stream().map(InvertedIndex.Hit::id).toList());
+        assertEquals("Cooking rice", result.hits().getFirst().title());
+        assertTrue(result.hits().get(0).score() > result.hits().get(1).score());
+    }
+
+    @Test
+    public void search_pagesThroughHitsInScoreOrder() {
+        for (int count = 1; count <= 25; count++) index.put(String.valueOf(count), "Post", "word ".repeat(count));
+
+        InvertedIndex.Result firstPage = index.search("word", 0, 10);
+        InvertedIndex.Result lastPage = index.search("word", 20, 10);
+
+        assertEquals(25, firstPage.totalHits());
+        assertEquals("25", firstPage.hits().getFirst().id());
+        assertEquals(5, lastPage.hits().size());
+        assertEquals("1", lastPage.hits().getLast().id());
+        assertTrue(index.search("word", 30, 10).hits().isEmpty());
+    }
+
+    @Test
+    public void removedAndReplacedPosts_areNotReturned() {
+        index.put("1", "Title", "old content");
+        index.put("2", "Title", "old content");
+        index.put("1", "Title", "new content");
+        index.remove("2");
+
+        assertEquals(0, index.search("old", 0, 10).totalHits());
+        assertEquals("1", index.search("new", 0, 10).hits().getFirst().id());
+        assertEquals(1, index.size());
+        assertFalse(index.remove("2"));
+    }
+
+    @Test
+    public void manyDeletes_compactIndex_remainingPostsStillFound() {
+        for (int count = 0; count < 4000; count++) index.put("post" + count, "Title", "shared term" + count % 10);
+        for (int count = 0; count < 3000; count++) index.remove("post" + count);
+
+        InvertedIndex.Result result = index.search("shared", 0, 5000);
+
+        assertEquals(1000, index.size());
+        assertEquals(1000, result.totalHits());
+        assertTrue(result.hits().stream().allMatch(hit -> Integer.parseInt(hit.id().substring(4)) >= 3000));
+        assertEquals(100, index.search("term7", 0, 5000).totalHits());
+    }
+
+    @Test
+    public void stopWordsOnlyQuery_hasNoHits() {
+        index.put("1", "The title", "and the content");
+
+        assertEquals(0, index.search("the and", 0, 10).totalHits());
+    }
+}
@@ -0,0 +1,38 @@
+package africa.semicolon.utils;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@TestConfiguration
+public class MongoCommandCounter implements CommandListener {
+
+    private final List<String> commands = new CopyOnWriteArrayList<>();
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer mongoCommandCounterCustomizer() {
+        return settings -> settings.addCommandListener(this);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        commands.add(event.getCommandName());
+    }
+
+    public void reset() {
+        commands.clear();
+    }
+
+    public int count() {
+        return commands.size();
+    }
+
+    public List<String> commands() {
+        return List.copyOf(commands);
+    }
+}
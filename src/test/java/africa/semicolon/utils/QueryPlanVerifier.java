@@ -0,0 +1,133 @@
+package africa.semicolon.utils;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static africa.semicolon.data.indexes.MongoIndexes.COLLECTION_SCAN;
+
+/**
+ * Explains every query the application sends while {@code blog.mongo.query-plans.verify} is on, and fails the
+ * running test if a winning plan scans a whole collection. Commands that do not constrain the collection at all
+ * (findAll, deleteAll, count(), pipelines that start with $group) and queries commented {@code collection-scan}
+ * are expected to scan and are not explained.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.mongo.query-plans.verify", havingValue = "true")
+public class QueryPlanVerifier implements CommandListener {
+
+    private static final Set<String> QUERIES = Set.of("find", "aggregate", "count", "distinct", "findAndModify", "update", "delete");
+    private static final Set<String> SESSION_FIELDS = Set.of("lsid", "txnNumber", "$clusterTime", "$db", "$readPreference",
+            "autocommit", "startTransaction", "readConcern", "writeConcern");
+
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final List<String> collectionScans = new CopyOnWriteArrayList<>();
+
+    public QueryPlanVerifier(ObjectProvider<MongoClient> mongoClient) {
+        this.mongoClient = mongoClient;
+    }
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer queryPlanVerifierCustomizer() {
+        return settings -> settings.addCommandListener(this);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!QUERIES.contains(event.getCommandName())) return;
+        BsonDocument command = new BsonDocument();
+        event.getCommand().clone().forEach((key, value) -> {
+            if (!SESSION_FIELDS.contains(key)) command.put(key, value);
+        });
+        if (command.isString("comment") && COLLECTION_SCAN.equals(command.getString("comment").getValue())) return;
+        for (BsonDocument query : constrained(event.getCommandName(), command)) {
+            BsonDocument explained = explain(event.getDatabaseName(), query);
+            if (explained != null && scansCollection(explained, false)) collectionScans.add(query.toJson());
+        }
+    }
+
+    public void assertNoCollectionScans() {
+        if (collectionScans.isEmpty()) return;
+        List<String> scans = List.copyOf(collectionScans);
+        collectionScans.clear();
+        throw new AssertionError("Queries planned as a collection scan: " + String.join(", ", scans));
+    }
+
+    private BsonDocument explain(String database, BsonDocument query) {
+        try {
+            return mongoClient.getObject().getDatabase(database).runCommand(
+                    new BsonDocument("explain", query).append("verbosity", new BsonString("queryPlanner")), BsonDocument.class);
+        } catch (MongoException e) {
+            return null;
+        }
+    }
+
+    private static List<BsonDocument> constrained(String name, BsonDocument command) {
+        return switch (name) {
+            case "update" -> statements(command, "updates");
+            case "delete" -> statements(command, "deletes");
+            case "find" -> filters(command, "filter") || filters(command, "sort") ? List.of(command) : List.of();
+            case "findAndModify" -> filters(command, "query") || filters(command, "sort") ? List.of(command) : List.of();
+            case "aggregate" -> constrainsPipeline(command.getArray("pipeline", new BsonArray())) ? List.of(command) : List.of();
+            default -> filters(command, "query") ? List.of(command) : List.of();
+        };
+    }
+
+    private static List<BsonDocument> statements(BsonDocument command, String batch) {
+        List<BsonDocument> statements = new ArrayList<>();
+        for (BsonValue statement : command.getArray(batch, new BsonArray())) {
+            if (!filters(statement.asDocument(), "q")) continue;
+            statements.add(command.clone().append(batch, new BsonArray(List.of(statement))));
+        }
+        return statements;
+    }
+
+    private static boolean constrainsPipeline(BsonArray pipeline) {
+        if (pipeline.isEmpty()) return false;
+        BsonDocument first = pipeline.get(0).asDocument();
+        return filters(first, "$match") || filters(first, "$sort");
+    }
+
+    private static boolean filters(BsonDocument document, String key) {
+        return document.isDocument(key) && !document.getDocument(key).isEmpty();
+    }
+
+    static boolean scansCollection(BsonValue value, boolean winningPlan) {
+        if (value.isArray()) return value.asArray().stream().anyMatch(item -> scansCollection(item, winningPlan));
+        if (!value.isDocument()) return false;
+        for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+            if (entry.getKey().equals("rejectedPlans")) continue;
+            boolean winning = winningPlan || entry.getKey().equals("winningPlan");
+            if (winning && entry.getKey().equals("stage") && entry.getValue().equals(new BsonString("COLLSCAN"))) return true;
+            if (scansCollection(entry.getValue(), winning)) return true;
+        }
+        return false;
+    }
+
+    public static class FailOnCollectionScan extends AbstractTestExecutionListener {
+        @Override
+        public void afterTestMethod(TestContext testContext) {
+            if (!testContext.hasApplicationContext()) return;
+            testContext.getApplicationContext().getBeanProvider(QueryPlanVerifier.class)
+                    .ifAvailable(QueryPlanVerifier::assertNoCollectionScans);
+        }
+    }
+}
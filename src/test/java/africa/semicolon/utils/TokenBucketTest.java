@@ -0,0 +1,59 @@
+package africa.semicolon.utils;
+
+import africa.semicolon.utils.TokenBucket.Limit;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void fullBucket_allowsBurst_thenReportsWaitForNextToken() {
+        TokenBucket bucket = new TokenBucket();
+        Limit limit = Limit.of(2, 3);
+
+        for (int request = 0; request < 3; request++) assertEquals(0, bucket.tryAcquire(0, limit));
+
+        assertEquals(SECOND / 2, bucket.tryAcquire(0, limit));
+        assertEquals(0, bucket.tryAcquire(SECOND / 2, limit));
+        assertTrue(bucket.tryAcquire(SECOND / 2, limit) > 0);
+    }
+
+    @Test
+    public void idleBucket_refillsOnlyUpToBurst_andIsIdleOnceFull() {
+        TokenBucket bucket = new TokenBucket();
+        Limit limit = Limit.of(10, 5);
+        for (int request = 0; request < 5; request++) bucket.tryAcquire(0, limit);
+
+        long later = 60 * SECOND;
+        int allowed = 0;
+        while (bucket.tryAcquire(later, limit) == 0) allowed++;
+
+        assertEquals(5, allowed);
+        assertFalse(bucket.isIdle(later, 0));
+        assertTrue(bucket.isIdle(later + 20 * SECOND, 10 * SECOND));
+    }
+
+    @Test
+    public void concurrentRequests_neverTakeMoreThanBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket();
+        Limit limit = Limit.of(1, 100);
+        AtomicInteger allowed = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            Future<?>[] futures = new Future<?>[8];
+            for (int thread = 0; thread < futures.length; thread++) futures[thread] = executor.submit(() -> {
+                for (int request = 0; request < 1000; request++) if (bucket.tryAcquire(0, limit) == 0) allowed.incrementAndGet();
+            });
+            for (Future<?> future : futures) future.get();
+        }
+
+        assertEquals(100, allowed.get());
+    }
+}